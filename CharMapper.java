@@ -0,0 +1,77 @@
+/**
+ * 將一整塊 32 位元亂數對應到字符集的引擎
+ * 每個亂數拆成兩個 16 位元樣本，以 Lemire 乘法縮減 (sample * size) >>> 16 取得索引，
+ * 低 16 位元小於 2^16 mod size 的樣本拒絕，因此結果完全均勻；字符集大小最多 65536，一律可用 16 位元樣本
+ *
+ * 預設引擎 DEFAULT 在 Vector API 可用時 (以 -Pvector 建置並以 --add-modules jdk.incubator.vector 執行)
+ * 為 SIMD 版本，否則為純量版本；兩者輸出完全相同
+ */
+interface CharMapper {
+
+    CharMapper DEFAULT = load();
+
+    /**
+     * 對應 random[from, from + count) 的亂數，接受的字符依序寫入 dest[destOffset..]
+     * dest 需至少有 2 * count 的空間
+     * @return 寫入的字符數
+     */
+    int map(CharacterSet charSet, int[] random, int from, int count, char[] dest, int destOffset);
+
+    String getName();
+
+    private static CharMapper load() {
+        if (Boolean.parseBoolean(System.getProperty("passwordgenerator.vector", "true"))) {
+            try {
+                return (CharMapper) Class.forName("VectorCharMapper").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // 沒有以 vector profile 建置，或執行時未加入 jdk.incubator.vector 模組
+            }
+        }
+        return ScalarCharMapper.INSTANCE;
+    }
+}
+
+/**
+ * 純量版本，也是 SIMD 版本處理剩餘不足一個向量的尾端時使用的實作
+ */
+final class ScalarCharMapper implements CharMapper {
+    static final ScalarCharMapper INSTANCE = new ScalarCharMapper();
+
+    private ScalarCharMapper() {
+    }
+
+    @Override
+    public int map(CharacterSet charSet, int[] random, int from, int count, char[] dest, int destOffset) {
+        int size = charSet.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("character set is empty");
+        }
+        int written = destOffset;
+        if (charSet.isPowerOfTwo()) {
+            int mask = charSet.getMask();
+            for (int i = from; i < from + count; i++) {
+                dest[written++] = charSet.charAt(random[i] & mask);
+                dest[written++] = charSet.charAt((random[i] >>> 16) & mask);
+            }
+        } else {
+            int threshold = (1 << 16) % size;
+            for (int i = from; i < from + count; i++) {
+                // 16 位元樣本乘以 size 可能超過 2^31，一律以無號位移取高位
+                int low = (random[i] & 0xFFFF) * size;
+                if ((low & 0xFFFF) >= threshold) {
+                    dest[written++] = charSet.charAt(low >>> 16);
+                }
+                int high = (random[i] >>> 16) * size;
+                if ((high & 0xFFFF) >= threshold) {
+                    dest[written++] = charSet.charAt(high >>> 16);
+                }
+            }
+        }
+        return written - destOffset;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
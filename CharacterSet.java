@@ -0,0 +1,151 @@
+import java.util.Arrays;
+
+/**
+ * 預先編譯的字符集
+ * 建立後不可變，事先算好查表用的 char[]、字符數量、拒絕取樣門檻與 2 的次方快速路徑，
+ * 產生密碼時不再需要重複組字串或計算這些值
+ */
+final class CharacterSet {
+    public static final String UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    public static final String LOWERCASE = "abcdefghijklmnopqrstuvwxyz";
+    public static final String NUMBERS = "0123456789";
+    public static final String SYMBOLS = "!@#$%^&*()-_=+[]{}|;:,.<>?";
+    // 容易看錯的字符
+    public static final String AMBIGUOUS = "0O1lI|";
+
+    public static final CharacterSet EMPTY = new CharacterSet(new char[0]);
+
+    // 四個勾選框的 15 種組合，索引為 大寫|小寫<<1|數字<<2|符號<<3
+    private static final CharacterSet[] PRESETS = new CharacterSet[16];
+
+    static {
+        PRESETS[0] = EMPTY;
+        for (int flags = 1; flags < PRESETS.length; flags++) {
+            StringBuilder chars = new StringBuilder();
+            if ((flags & 1) != 0) chars.append(UPPERCASE);
+            if ((flags & 2) != 0) chars.append(LOWERCASE);
+            if ((flags & 4) != 0) chars.append(NUMBERS);
+            if ((flags & 8) != 0) chars.append(SYMBOLS);
+            PRESETS[flags] = compile(chars);
+        }
+    }
+
+    private final char[] table;
+    private final int size;
+    private final boolean powerOfTwo;
+    private final int mask;
+    private final int rejectionThreshold;
+    private final String text;
+
+    private CharacterSet(char[] table) {
+        this.table = table;
+        this.size = table.length;
+        this.powerOfTwo = size > 0 && (size & (size - 1)) == 0;
+        this.mask = size - 1;
+        // 2^32 mod size：32 位元亂數乘以 size 後低位小於此值者需拒絕，才能保證均勻
+        this.rejectionThreshold = size == 0 ? 0 : (int) ((1L << 32) % size);
+        this.text = new String(table);
+    }
+
+    /**
+     * 取得勾選框組合對應的快取字符集，全部未勾選時回傳 EMPTY
+     */
+    public static CharacterSet of(boolean uppercase, boolean lowercase, boolean numbers, boolean symbols) {
+        int flags = (uppercase ? 1 : 0) | (lowercase ? 2 : 0) | (numbers ? 4 : 0) | (symbols ? 8 : 0);
+        return PRESETS[flags];
+    }
+
+    /**
+     * 編譯任意字符集，重複的字符只保留第一次出現 (重複會造成分布偏差)
+     */
+    public static CharacterSet compile(CharSequence chars) {
+        char[] table = new char[chars.length()];
+        int size = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (indexOf(table, size, c) < 0) {
+                table[size++] = c;
+            }
+        }
+        return new CharacterSet(Arrays.copyOf(table, size));
+    }
+
+    /**
+     * 回傳排除指定字符後的新字符集
+     */
+    public CharacterSet excluding(CharSequence excluded) {
+        char[] kept = new char[size];
+        int count = 0;
+        for (char c : table) {
+            boolean skip = false;
+            for (int i = 0; i < excluded.length() && !skip; i++) {
+                skip = excluded.charAt(i) == c;
+            }
+            if (!skip) {
+                kept[count++] = c;
+            }
+        }
+        return count == size ? this : new CharacterSet(Arrays.copyOf(kept, count));
+    }
+
+    public CharacterSet withoutAmbiguous() {
+        return excluding(AMBIGUOUS);
+    }
+
+    public char charAt(int index) {
+        return table[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isPowerOfTwo() {
+        return powerOfTwo;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public int getRejectionThreshold() {
+        return rejectionThreshold;
+    }
+
+    /**
+     * 將 32 位元均勻亂數無偏差地對應到字符索引 (Lemire 乘法縮減)
+     * 落在拒絕區間時回傳 -1，呼叫端應改用下一個亂數
+     */
+    public int select(int bits) {
+        if (powerOfTwo) {
+            return bits & mask;
+        }
+        long product = (bits & 0xFFFFFFFFL) * size;
+        if (Integer.compareUnsigned((int) product, rejectionThreshold) < 0) {
+            return -1;
+        }
+        return (int) (product >>> 32);
+    }
+
+    public boolean contains(char c) {
+        return indexOf(table, size, c) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static int indexOf(char[] table, int size, char c) {
+        for (int i = 0; i < size; i++) {
+            if (table[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,360 @@
+import java.lang.ref.Reference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 基本型別集合與裝箱 JDK 集合的比較
+ * 所有 key、value 與查詢順序都在建構時產生，計時區間內只有集合操作本身 (以及 JDK 集合不可避免的裝箱)；
+ * 每個操作重複到至少 MIN_OPERATIONS 次並執行 ROUNDS 回合，只保留最後一回合，時間為每次操作的 ns；
+ * 計時之後再以一次不計時的執行量測每次操作配置的位元組數，以及填滿後 GC 仍存活的保留堆積
+ *
+ * 對應到產生器的路徑：清單為歷史索引、雙向佇列為有上限的最近紀錄視窗、map 為 密碼雜湊 → 索引
+ */
+final class CollectionBoxingAnalyzer {
+    // 雙向佇列測試的視窗大小 (超過時移除最舊的一筆)
+    static final int DEQUE_WINDOW = 1024;
+
+    private static final int ROUNDS = 3;
+    private static final int MIN_OPERATIONS = 1_000_000;
+
+    /**
+     * 單一 (操作, 集合) 的結果
+     */
+    static final class Result {
+        final String operation;
+        final String collectionName;
+        final boolean primitive;
+        final double nanosPerOperation;
+        // 不支援配置量測時為 NaN
+        final double bytesPerOperation;
+        // 只有填入資料的操作 (append / sliding window / put) 有保留堆積，其餘為 -1
+        final long retainedBytes;
+
+        Result(String operation, String collectionName, boolean primitive, double nanosPerOperation,
+               double bytesPerOperation, long retainedBytes) {
+            this.operation = operation;
+            this.collectionName = collectionName;
+            this.primitive = primitive;
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+            this.retainedBytes = retainedBytes;
+        }
+    }
+
+    private final int elements;
+    private final int passes;
+    private final int[] values;
+    private final long[] keys;
+    private final int[] lookupOrder;
+    // 防止 JIT 消除讀取
+    private volatile long blackhole;
+
+    public CollectionBoxingAnalyzer(int elements) {
+        if (elements < 1) {
+            throw new IllegalArgumentException("elements must be positive: " + elements);
+        }
+        this.elements = elements;
+        this.passes = Math.max(1, MIN_OPERATIONS / elements);
+        SplittableRandom random = new SplittableRandom();
+        this.values = new int[elements];
+        this.keys = new long[elements];
+        this.lookupOrder = new int[elements];
+        for (int i = 0; i < elements; i++) {
+            // 超出 Integer 快取 (-128..127) 的範圍，裝箱時一定會配置新物件
+            values[i] = random.nextInt(1 << 30) + 128;
+            keys[i] = random.nextLong();
+            lookupOrder[i] = random.nextInt(elements);
+        }
+    }
+
+    public int getElements() {
+        return elements;
+    }
+
+    /**
+     * 附加、依序走訪加總與隨機讀取 (LinkedList 的隨機讀取為 O(n)，不列入)
+     */
+    public List<Result> analyzeLists() {
+        long[] append = new long[3];
+        long[] iterate = new long[3];
+        long[] randomGet = new long[2];
+        for (int round = 0; round < ROUNDS; round++) {
+            // 只保留最後一回合，前面的回合作為 JIT 暖機
+            Arrays.fill(append, 0);
+            Arrays.fill(iterate, 0);
+            Arrays.fill(randomGet, 0);
+            for (int pass = 0; pass < passes; pass++) {
+                // 基本型別版本先量測，裝箱版本觸發的 GC 暫停才會算在裝箱版本上 (見 analyzeMaps)
+                IntArrayList intList = new IntArrayList();
+                append[2] += append(intList);
+                iterate[2] += iterate(intList);
+                randomGet[1] += randomGet(intList);
+
+                List<Integer> arrayList = new ArrayList<>();
+                append[0] += append(arrayList);
+                iterate[0] += iterate(arrayList);
+                randomGet[0] += randomGet(arrayList);
+
+                List<Integer> linkedList = new LinkedList<>();
+                append[1] += append(linkedList);
+                iterate[1] += iterate(linkedList);
+            }
+        }
+        long[][] memory = {
+            this.<List<Integer>>footprint(ArrayList::new, this::append, this::iterate, this::randomGet),
+            this.<List<Integer>>footprint(LinkedList::new, this::append, this::iterate),
+            this.<IntArrayList>footprint(IntArrayList::new, this::append, this::iterate, this::randomGet)
+        };
+
+        List<Result> results = new ArrayList<>();
+        String[] names = {"ArrayList<Integer>", "LinkedList<Integer>", "IntArrayList"};
+        for (int i = 0; i < names.length; i++) {
+            results.add(result("append", names[i], i == 2, append[i], memory[i][0], memory[i][1]));
+        }
+        for (int i = 0; i < names.length; i++) {
+            results.add(result("iterate", names[i], i == 2, iterate[i], memory[i][2], -1));
+        }
+        results.add(result("random get", names[0], false, randomGet[0], memory[0][3], -1));
+        results.add(result("random get", names[2], true, randomGet[1], memory[2][3], -1));
+        return results;
+    }
+
+    // 每個計時區間放在獨立的小方法中，讓 JIT 以一般方式編譯，而不是只靠外層迴圈的 OSR
+    private long append(List<Integer> list) {
+        long start = System.nanoTime();
+        for (int value : values) {
+            list.add(value);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long append(IntArrayList list) {
+        long start = System.nanoTime();
+        for (int value : values) {
+            list.add(value);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long iterate(List<Integer> list) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int value : list) {
+            checksum += value;
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    private long iterate(IntArrayList list) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < list.size(); i++) {
+            checksum += list.get(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    private long randomGet(List<Integer> list) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int index : lookupOrder) {
+            checksum += list.get(index);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    private long randomGet(IntArrayList list) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int index : lookupOrder) {
+            checksum += list.get(index);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    /**
+     * 有上限的 FIFO 視窗：每次 addLast，超過 DEQUE_WINDOW 時 removeFirst
+     */
+    public List<Result> analyzeDeques() {
+        long[] window = new long[3];
+        for (int round = 0; round < ROUNDS; round++) {
+            Arrays.fill(window, 0);
+            for (int pass = 0; pass < passes; pass++) {
+                window[2] += slide(new IntArrayDeque());
+                window[0] += slide(new ArrayDeque<>());
+                window[1] += slide(new LinkedList<>());
+            }
+        }
+        long[][] memory = {
+            this.<Deque<Integer>>footprint(ArrayDeque::new, this::slide),
+            this.<Deque<Integer>>footprint(LinkedList::new, this::slide),
+            this.<IntArrayDeque>footprint(IntArrayDeque::new, this::slide)
+        };
+
+        List<Result> results = new ArrayList<>();
+        String[] names = {"ArrayDeque<Integer>", "LinkedList<Integer>", "IntArrayDeque"};
+        for (int i = 0; i < names.length; i++) {
+            results.add(result("sliding window", names[i], i == 2, window[i], memory[i][0], memory[i][1]));
+        }
+        return results;
+    }
+
+    private long slide(Deque<Integer> deque) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int value : values) {
+            deque.addLast(value);
+            if (deque.size() > DEQUE_WINDOW) {
+                checksum += deque.removeFirst();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    private long slide(IntArrayDeque deque) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int value : values) {
+            deque.addLast(value);
+            if (deque.size() > DEQUE_WINDOW) {
+                checksum += deque.removeFirst();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    /**
+     * long → int 的插入與隨機查詢 (全部命中)
+     */
+    public List<Result> analyzeMaps() {
+        long[] put = new long[3];
+        long[] get = new long[3];
+        for (int round = 0; round < ROUNDS; round++) {
+            Arrays.fill(put, 0);
+            Arrays.fill(get, 0);
+            for (int pass = 0; pass < passes; pass++) {
+                // 基本型別版本先量測：裝箱版本留下的大量物件若在其計時區間內觸發 GC，
+                // 暫停時間應算在裝箱版本上，而不是之後的基本型別版本
+                LongIntHashMap primitiveMap = new LongIntHashMap();
+                put[2] += put(primitiveMap);
+                get[2] += get(primitiveMap);
+
+                Map<Long, Integer> hashMap = new HashMap<>();
+                put[0] += put(hashMap);
+                get[0] += get(hashMap);
+
+                Map<Long, Integer> treeMap = new TreeMap<>();
+                put[1] += put(treeMap);
+                get[1] += get(treeMap);
+            }
+        }
+        long[][] memory = {
+            this.<Map<Long, Integer>>footprint(HashMap::new, this::put, this::get),
+            this.<Map<Long, Integer>>footprint(TreeMap::new, this::put, this::get),
+            this.<LongIntHashMap>footprint(LongIntHashMap::new, this::put, this::get)
+        };
+
+        List<Result> results = new ArrayList<>();
+        String[] names = {"HashMap<Long,Integer>", "TreeMap<Long,Integer>", "LongIntHashMap"};
+        for (int i = 0; i < names.length; i++) {
+            results.add(result("put", names[i], i == 2, put[i], memory[i][0], memory[i][1]));
+        }
+        for (int i = 0; i < names.length; i++) {
+            results.add(result("get", names[i], i == 2, get[i], memory[i][2], -1));
+        }
+        return results;
+    }
+
+    private long put(Map<Long, Integer> map) {
+        long start = System.nanoTime();
+        for (int i = 0; i < elements; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long put(LongIntHashMap map) {
+        long start = System.nanoTime();
+        for (int i = 0; i < elements; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long get(Map<Long, Integer> map) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int index : lookupOrder) {
+            checksum += map.get(keys[index]);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    private long get(LongIntHashMap map) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int index : lookupOrder) {
+            checksum += map.get(keys[index], 0);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole = checksum;
+        return elapsed;
+    }
+
+    /**
+     * 不計時的記憶體量測：建立集合並以 fill 填入，記錄配置量與 GC 後的保留堆積，再依序記錄每個 read 的配置量
+     * @return {fill 配置的位元組數, 保留堆積, 各 read 配置的位元組數...}，不支援配置量測時配置量為 -1
+     */
+    @SafeVarargs
+    private <T> long[] footprint(Supplier<? extends T> factory, Consumer<? super T> fill, Consumer<? super T>... reads) {
+        long[] footprint = new long[2 + reads.length];
+        long baseline = MemoryMeter.usedHeapAfterGc();
+        T collection = factory.get();
+        long before = MemoryMeter.currentThreadAllocatedBytes();
+        fill.accept(collection);
+        footprint[0] = allocatedSince(before);
+        footprint[1] = Math.max(0, MemoryMeter.usedHeapAfterGc() - baseline);
+        for (int i = 0; i < reads.length; i++) {
+            before = MemoryMeter.currentThreadAllocatedBytes();
+            reads[i].accept(collection);
+            footprint[2 + i] = allocatedSince(before);
+        }
+        // 量測保留堆積時集合必須仍可達
+        Reference.reachabilityFence(collection);
+        return footprint;
+    }
+
+    private static long allocatedSince(long before) {
+        return before < 0 ? -1 : MemoryMeter.currentThreadAllocatedBytes() - before;
+    }
+
+    private Result result(String operation, String collectionName, boolean primitive, long totalNanos,
+                          long allocatedBytes, long retainedBytes) {
+        return new Result(operation, collectionName, primitive, (double) totalNanos / ((long) passes * elements),
+            allocatedBytes < 0 ? Double.NaN : (double) allocatedBytes / elements, retainedBytes);
+    }
+}
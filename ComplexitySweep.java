@@ -0,0 +1,399 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * 時間複雜度實測：以等比成長的資料量 (預設 10^3 到 10^7，每十倍 2 個點) 量測各資料結構的建立與查詢，
+ * 在 log-log 座標上以最小平方法擬合 t ∝ n^b，並與理論複雜度在同一區間應有的指數比較
+ *
+ * 建立：從空結構逐筆加入到 n 筆，取每次操作的平均 (攤銷) 時間，包含擴充與期間的 GC，小 n 時重複多次取中位數；
+ * 查詢：在已有 n 筆的結構上做隨機查詢，批次大小倍增直到累計 TARGET_NANOS，
+ * 因此 LinkedList.get 這類 O(n) 操作在大 n 時只會執行少數幾次
+ *
+ * key 在建構時一次產生；清單與 map 的 value 取自 Integer 快取，記憶體上限只受結構本身影響。
+ * 某個大小配置失敗 (OutOfMemoryError) 時該結構停止在前一個大小，執行緒被中斷時提早結束
+ */
+final class ComplexitySweep {
+    static final int DEFAULT_MIN_SIZE = 1_000;
+    static final int DEFAULT_MAX_SIZE = 10_000_000;
+    static final int POINTS_PER_DECADE = 2;
+
+    // 擬合指數與理論指數相差超過此值即視為不符
+    static final double TOLERANCE = 0.25;
+
+    // 每個 (結構, 大小) 的建立與查詢各自量測到累計此時間為止
+    private static final long TARGET_NANOS = 50_000_000L;
+    private static final int MIN_BUILD_REPEATS = 3;
+    private static final int MAX_BUILD_REPEATS = 101;
+    private static final int LOOKUP_INDEXES = 1 << 16;
+    private static final int WARMUP_SIZE = 10_000;
+    private static final long WARMUP_NANOS = 500_000_000L;
+
+    enum Complexity {
+        CONSTANT("O(1)"), LOGARITHMIC("O(log n)"), LINEAR("O(n)");
+
+        final String label;
+
+        Complexity(String label) {
+            this.label = label;
+        }
+
+        /**
+         * 此複雜度在給定的大小區間內，於 log-log 座標上的斜率
+         * O(log n) 不是冪次函數，其斜率隨區間而變 (10^3..10^7 約 0.1)，因此依實際區間計算
+         */
+        double exponentOver(int[] sizes) {
+            switch (this) {
+                case CONSTANT:
+                    return 0;
+                case LINEAR:
+                    return 1;
+                default:
+                    double[] times = new double[sizes.length];
+                    for (int i = 0; i < sizes.length; i++) {
+                        times[i] = Math.log(sizes[i]);
+                    }
+                    return fitPowerLaw(sizes, times)[0];
+            }
+        }
+    }
+
+    enum Structure {
+        ARRAY_LIST("ArrayList<Integer>", "add", Complexity.CONSTANT, "get(index)", Complexity.CONSTANT),
+        LINKED_LIST("LinkedList<Integer>", "add", Complexity.CONSTANT, "get(index)", Complexity.LINEAR),
+        INT_ARRAY_LIST("IntArrayList", "add", Complexity.CONSTANT, "get(index)", Complexity.CONSTANT),
+        HASH_MAP("HashMap<Long,Integer>", "put", Complexity.CONSTANT, "get", Complexity.CONSTANT),
+        TREE_MAP("TreeMap<Long,Integer>", "put", Complexity.LOGARITHMIC, "get", Complexity.LOGARITHMIC),
+        LONG_INT_HASH_MAP("LongIntHashMap", "put", Complexity.CONSTANT, "get", Complexity.CONSTANT);
+
+        final String displayName;
+        final String buildOperation;
+        final Complexity buildComplexity;
+        final String lookupOperation;
+        final Complexity lookupComplexity;
+
+        Structure(String displayName, String buildOperation, Complexity buildComplexity,
+                  String lookupOperation, Complexity lookupComplexity) {
+            this.displayName = displayName;
+            this.buildOperation = buildOperation;
+            this.buildComplexity = buildComplexity;
+            this.lookupOperation = lookupOperation;
+            this.lookupComplexity = lookupComplexity;
+        }
+    }
+
+    /**
+     * 單一 (結構, 操作) 的掃描結果
+     */
+    static final class Result {
+        final String structureName;
+        final String operation;
+        final Complexity expected;
+        final int[] sizes;
+        final double[] nanosPerOperation;
+        final double exponent;
+        final double rSquared;
+        final double expectedExponent;
+        // 記憶體不足而停止時為配置失敗的大小，否則為 0
+        final int failedSize;
+
+        Result(String structureName, String operation, Complexity expected, int[] sizes, double[] nanosPerOperation,
+               int failedSize) {
+            this.structureName = structureName;
+            this.operation = operation;
+            this.expected = expected;
+            this.sizes = sizes;
+            this.nanosPerOperation = nanosPerOperation;
+            this.failedSize = failedSize;
+            double[] fit = sizes.length >= 2 ? fitPowerLaw(sizes, nanosPerOperation) : new double[] {Double.NaN, Double.NaN};
+            this.exponent = fit[0];
+            this.rSquared = fit[1];
+            this.expectedExponent = expected.exponentOver(sizes);
+        }
+
+        boolean matchesExpected() {
+            return Math.abs(exponent - expectedExponent) <= TOLERANCE;
+        }
+
+        /**
+         * 與擬合指數最接近的複雜度
+         */
+        Complexity closest() {
+            Complexity closest = Complexity.CONSTANT;
+            for (Complexity complexity : Complexity.values()) {
+                if (Math.abs(exponent - complexity.exponentOver(sizes))
+                        < Math.abs(exponent - closest.exponentOver(sizes))) {
+                    closest = complexity;
+                }
+            }
+            return closest;
+        }
+    }
+
+    private final int[] sizes;
+    private final long[] keys;
+    private final SplittableRandom random = new SplittableRandom();
+    // 防止 JIT 消除查詢
+    private volatile long blackhole;
+
+    public ComplexitySweep() {
+        this(DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE);
+    }
+
+    public ComplexitySweep(int minSize, int maxSize) {
+        this.sizes = geometricSizes(minSize, maxSize, POINTS_PER_DECADE);
+        this.keys = new long[maxSize];
+        for (int i = 0; i < maxSize; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * minSize 起每十倍 pointsPerDecade 個點，最後一個點一定是 maxSize
+     */
+    static int[] geometricSizes(int minSize, int maxSize, int pointsPerDecade) {
+        if (minSize < 1 || maxSize < minSize || pointsPerDecade < 1) {
+            throw new IllegalArgumentException("invalid sweep range: " + minSize + ".." + maxSize);
+        }
+        List<Integer> sizes = new ArrayList<>();
+        double step = Math.pow(10, 1.0 / pointsPerDecade);
+        for (double size = minSize; Math.round(size) < maxSize; size *= step) {
+            sizes.add((int) Math.round(size));
+        }
+        sizes.add(maxSize);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 在 log-log 座標上以最小平方法擬合 ln t = a + b ln n
+     * @return {b, R²}
+     */
+    static double[] fitPowerLaw(int[] sizes, double[] values) {
+        int n = Math.min(sizes.length, values.length);
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0, sumYY = 0;
+        for (int i = 0; i < n; i++) {
+            double x = Math.log(sizes[i]);
+            double y = Math.log(values[i]);
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+            sumYY += y * y;
+        }
+        double covariance = n * sumXY - sumX * sumY;
+        double varianceX = n * sumXX - sumX * sumX;
+        double varianceY = n * sumYY - sumY * sumY;
+        double slope = covariance / varianceX;
+        double rSquared = varianceY == 0 ? 1 : covariance * covariance / (varianceX * varianceY);
+        return new double[] {slope, rSquared};
+    }
+
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    /**
+     * 掃描一個結構，回傳 {建立, 查詢} 兩個結果
+     */
+    public Result[] sweep(Structure structure) {
+        // 先以小資料量暖機一段固定時間，讓 JIT (含背景的 C2 編譯) 在正式量測前完成
+        int warmupSize = Math.min(WARMUP_SIZE, sizes[sizes.length - 1]);
+        Object[] built = new Object[1];
+        long warmupStart = System.nanoTime();
+        while (System.nanoTime() - warmupStart < WARMUP_NANOS) {
+            timeBuild(structure, warmupSize, built);
+            lookup(structure, built[0], warmupSize, TARGET_NANOS / 10);
+        }
+
+        double[] buildNanos = new double[sizes.length];
+        double[] lookupNanos = new double[sizes.length];
+        int measured = 0;
+        int failedSize = 0;
+        for (int size : sizes) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            try {
+                buildNanos[measured] = timeBuild(structure, size, built);
+                // 查詢沿用最後一次建立的結構，大 n 時不必再建立一次；先 GC 讓結構進入老年代，
+                // 否則查詢期間第一次年輕代 GC 會複製整個剛建立的結構，被算進查詢時間
+                System.gc();
+                lookupNanos[measured] = lookup(structure, built[0], size, TARGET_NANOS);
+                measured++;
+            } catch (OutOfMemoryError e) {
+                // 失敗的結構已無參考，可以回收；後面更大的大小也不必再試
+                failedSize = size;
+                break;
+            } finally {
+                built[0] = null;
+            }
+        }
+
+        int[] measuredSizes = Arrays.copyOf(sizes, measured);
+        return new Result[] {
+            new Result(structure.displayName, structure.buildOperation, structure.buildComplexity,
+                measuredSizes, Arrays.copyOf(buildNanos, measured), failedSize),
+            new Result(structure.displayName, structure.lookupOperation, structure.lookupComplexity,
+                measuredSizes, Arrays.copyOf(lookupNanos, measured), failedSize)
+        };
+    }
+
+    /**
+     * 重複建立 n 筆的結構直到累計 TARGET_NANOS，單次建立短於 TARGET_NANOS 時至少 MIN_BUILD_REPEATS 次，
+     * 取中位數：小 n 時單次建立只有數十 µs，一次 GC 暫停就會蓋過結果；最後一次建立的結構放在 built[0]
+     * @return 每次加入的平均 ns
+     */
+    private double timeBuild(Structure structure, int n, Object[] built) {
+        List<Long> samples = new ArrayList<>();
+        long total = 0;
+        while (samples.size() < MAX_BUILD_REPEATS && (total < TARGET_NANOS
+                || (samples.size() < MIN_BUILD_REPEATS && samples.get(0) < TARGET_NANOS))) {
+            // 先放掉上一次的結構，大 n 時才不會同時存在兩份
+            built[0] = null;
+            long start = System.nanoTime();
+            built[0] = build(structure, n);
+            long elapsed = System.nanoTime() - start;
+            samples.add(elapsed);
+            total += elapsed;
+        }
+        samples.sort(null);
+        return (double) samples.get(samples.size() / 2) / n;
+    }
+
+    // 逐筆加入 n 個元素；清單的值與 map 的 value 取自 Integer 快取 (0..127)
+    private Object build(Structure structure, int n) {
+        switch (structure) {
+            case ARRAY_LIST:
+                return fill(new ArrayList<>(), n);
+            case LINKED_LIST:
+                return fill(new LinkedList<>(), n);
+            case INT_ARRAY_LIST:
+                return fill(new IntArrayList(), n);
+            case HASH_MAP:
+                return fill(new HashMap<>(), n);
+            case TREE_MAP:
+                return fill(new TreeMap<>(), n);
+            default:
+                return fill(new LongIntHashMap(), n);
+        }
+    }
+
+    // 每種結構各自一個填入與查詢的小方法，讓 JIT 分別編譯，不會因為共用迴圈看到多種型別而去最佳化
+    private List<Integer> fill(List<Integer> list, int n) {
+        for (int i = 0; i < n; i++) {
+            list.add((int) keys[i] & 127);
+        }
+        return list;
+    }
+
+    private IntArrayList fill(IntArrayList list, int n) {
+        for (int i = 0; i < n; i++) {
+            list.add((int) keys[i] & 127);
+        }
+        return list;
+    }
+
+    private Map<Long, Integer> fill(Map<Long, Integer> map, int n) {
+        for (int i = 0; i < n; i++) {
+            map.put(keys[i], (int) keys[i] & 127);
+        }
+        return map;
+    }
+
+    private LongIntHashMap fill(LongIntHashMap map, int n) {
+        for (int i = 0; i < n; i++) {
+            map.put(keys[i], (int) keys[i] & 127);
+        }
+        return map;
+    }
+
+    /**
+     * 在 n 筆的結構上做隨機查詢，批次大小從 1 開始倍增 (上限 LOOKUP_INDEXES)，累計時間達 targetNanos 為止
+     * 至少有 3 個完整大小的批次時取其每次查詢時間的中位數 (排除 GC 暫停)，否則取全部的平均
+     * @return 每次查詢的 ns
+     */
+    @SuppressWarnings("unchecked")
+    private double lookup(Structure structure, Object built, int n, long targetNanos) {
+        // 查詢索引在計時外產生；清單查位置，map 查已加入的 key
+        int[] indexes = new int[LOOKUP_INDEXES];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(n);
+        }
+        long elapsed = 0;
+        long operations = 0;
+        int batch = 1;
+        int position = 0;
+        long checksum = 0;
+        List<Double> fullBatches = new ArrayList<>();
+        while (elapsed < targetNanos) {
+            long start = System.nanoTime();
+            switch (structure) {
+                case ARRAY_LIST:
+                case LINKED_LIST:
+                    checksum += lookupBatch((List<Integer>) built, indexes, position, batch);
+                    break;
+                case INT_ARRAY_LIST:
+                    checksum += lookupBatch((IntArrayList) built, indexes, position, batch);
+                    break;
+                case HASH_MAP:
+                case TREE_MAP:
+                    checksum += lookupBatch((Map<Long, Integer>) built, indexes, position, batch);
+                    break;
+                default:
+                    checksum += lookupBatch((LongIntHashMap) built, indexes, position, batch);
+                    break;
+            }
+            long batchNanos = System.nanoTime() - start;
+            if (batch == LOOKUP_INDEXES) {
+                fullBatches.add((double) batchNanos / batch);
+            }
+            elapsed += batchNanos;
+            operations += batch;
+            position = (position + batch) & (LOOKUP_INDEXES - 1);
+            batch = Math.min(batch * 2, LOOKUP_INDEXES);
+        }
+        blackhole = checksum;
+        if (fullBatches.size() >= 3) {
+            fullBatches.sort(null);
+            return fullBatches.get(fullBatches.size() / 2);
+        }
+        return (double) elapsed / operations;
+    }
+
+    private static long lookupBatch(List<Integer> list, int[] indexes, int position, int batch) {
+        long checksum = 0;
+        for (int i = 0; i < batch; i++) {
+            checksum += list.get(indexes[(position + i) & (LOOKUP_INDEXES - 1)]);
+        }
+        return checksum;
+    }
+
+    private static long lookupBatch(IntArrayList list, int[] indexes, int position, int batch) {
+        long checksum = 0;
+        for (int i = 0; i < batch; i++) {
+            checksum += list.get(indexes[(position + i) & (LOOKUP_INDEXES - 1)]);
+        }
+        return checksum;
+    }
+
+    private long lookupBatch(Map<Long, Integer> map, int[] indexes, int position, int batch) {
+        long checksum = 0;
+        for (int i = 0; i < batch; i++) {
+            checksum += map.get(keys[indexes[(position + i) & (LOOKUP_INDEXES - 1)]]);
+        }
+        return checksum;
+    }
+
+    private long lookupBatch(LongIntHashMap map, int[] indexes, int position, int batch) {
+        long checksum = 0;
+        for (int i = 0; i < batch; i++) {
+            checksum += map.get(keys[indexes[(position + i) & (LOOKUP_INDEXES - 1)]], 0);
+        }
+        return checksum;
+    }
+}
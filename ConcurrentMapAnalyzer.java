@@ -0,0 +1,285 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 並行 Map 競爭分析
+ * 以 1..N 個執行緒對同一個 Map 做混合的讀寫，量測每秒總操作數，觀察各實作在幾個執行緒時停止成長
+ *
+ * key 為事先以各 HashFunction 產生的密碼字串；Map 一開始放入一半的 key，
+ * 寫入操作一半是 put、一半是 remove，因此大小維持在約一半，put 會實際新增節點而非只更新 value。
+ * 每個執行緒的操作序列 (key 與讀寫種類) 事先產生，計時區間內只有 Map 操作；
+ * value 取自 Integer 快取，配置量只反映 Map 本身的節點
+ */
+final class ConcurrentMapAnalyzer {
+    static final double[] DEFAULT_WRITE_RATIOS = {0.0, 0.05, 0.50};
+
+    // 每個 (Map, 讀寫比例, 執行緒數) 先暖機再量測固定時間
+    private static final long WARMUP_MILLIS = 100;
+    private static final long MEASURE_MILLIS = 500;
+    // 每個執行緒循環使用的操作序列長度
+    private static final int OPERATIONS_PER_THREAD = 1 << 16;
+    // 每做這麼多次操作才檢查一次停止旗標
+    private static final int STOP_CHECK_INTERVAL = 256;
+    // 每循環一次操作序列，key 索引整體位移此值 (質數)；否則第二輪起 put 的 key 都已存在，只更新 value
+    private static final int CYCLE_OFFSET = 7_919;
+
+    private static final int GET = 0;
+    private static final int PUT = 1;
+    private static final int REMOVE = 2;
+
+    enum MapType {
+        CONCURRENT_HASH_MAP("ConcurrentHashMap"),
+        SYNCHRONIZED_MAP("synchronizedMap(HashMap)"),
+        CONCURRENT_SKIP_LIST_MAP("ConcurrentSkipListMap"),
+        STRIPED_LOCK_MAP("StripedLockMap");
+
+        final String displayName;
+
+        MapType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        Map<String, Integer> create(int expectedSize) {
+            switch (this) {
+                case CONCURRENT_HASH_MAP:
+                    return new ConcurrentHashMap<>(expectedSize);
+                case SYNCHRONIZED_MAP:
+                    return Collections.synchronizedMap(new HashMap<>(expectedSize * 4 / 3 + 1));
+                case CONCURRENT_SKIP_LIST_MAP:
+                    return new ConcurrentSkipListMap<>();
+                default:
+                    return new StripedLockMap<>();
+            }
+        }
+    }
+
+    /**
+     * 單一 (Map, 讀寫比例, 執行緒數) 組合的結果
+     */
+    static final class Result {
+        final String mapName;
+        final double writeRatio;
+        final int threads;
+        final long operations;
+        final long elapsedNanos;
+        // 所有工作執行緒在量測期間合計配置的位元組數，不支援量測時為 -1
+        final long allocatedBytes;
+
+        Result(String mapName, double writeRatio, int threads, long operations, long elapsedNanos,
+               long allocatedBytes) {
+            this.mapName = mapName;
+            this.writeRatio = writeRatio;
+            this.threads = threads;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        double getOperationsPerSecond() {
+            return operations / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double getOperationsPerSecondPerThread() {
+            return getOperationsPerSecond() / threads;
+        }
+
+        double bytesPerOperation() {
+            return allocatedBytes < 0 || operations == 0 ? Double.NaN : (double) allocatedBytes / operations;
+        }
+    }
+
+    private final String[] keys;
+    // 防止 JIT 消除查詢
+    private volatile long blackhole;
+
+    public ConcurrentMapAnalyzer(String[] keys) {
+        // 操作序列以 int 的高 30 位元存放 key 索引
+        if (keys.length < 2 || keys.length > 1 << 29) {
+            throw new IllegalArgumentException("key count must be in [2, 2^29]: " + keys.length);
+        }
+        this.keys = keys.clone();
+    }
+
+    /**
+     * 輪流以各 HashFunction 產生 count 個長度為 length 的密碼，作為 key
+     */
+    static String[] generateKeys(HashFunction[] functions, String charSet, int length, int count) {
+        if (functions.length == 0 || count < 1) {
+            throw new IllegalArgumentException("functions and count must not be empty");
+        }
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = functions[i % functions.length].generatePassword(charSet, length);
+        }
+        return keys;
+    }
+
+    /**
+     * 1, 2, 4, ... 到 maxThreads (最後一個一定是 maxThreads)
+     */
+    static int[] threadCounts(int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("maxThreads must be positive: " + maxThreads);
+        }
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads <<= 1) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 解析以逗號分隔的 讀/寫 比例，例如 "100/0, 95/5, 50/50"
+     * @return 各組的寫入比例
+     */
+    static double[] parseWriteRatios(String spec) {
+        String[] mixes = spec.split(",");
+        double[] writeRatios = new double[mixes.length];
+        for (int i = 0; i < mixes.length; i++) {
+            String[] parts = mixes[i].trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("read/write mix must look like 95/5: " + mixes[i].trim());
+            }
+            double reads = Double.parseDouble(parts[0].trim());
+            double writes = Double.parseDouble(parts[1].trim());
+            if (reads < 0 || writes < 0 || reads + writes <= 0) {
+                throw new IllegalArgumentException("invalid read/write mix: " + mixes[i].trim());
+            }
+            writeRatios[i] = writes / (reads + writes);
+        }
+        return writeRatios;
+    }
+
+    static String formatMix(double writeRatio) {
+        return String.format("%.0f/%.0f", 100 * (1 - writeRatio), 100 * writeRatio);
+    }
+
+    public int getKeyCount() {
+        return keys.length;
+    }
+
+    public Result analyze(MapType type, int threads, double writeRatio) throws InterruptedException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        if (writeRatio < 0 || writeRatio > 1) {
+            throw new IllegalArgumentException("writeRatio must be in [0, 1]: " + writeRatio);
+        }
+        Map<String, Integer> map = type.create(keys.length);
+        for (int i = 0; i < keys.length; i += 2) {
+            map.put(keys[i], i & 127);
+        }
+        SplittableRandom random = new SplittableRandom();
+        int[][] operations = new int[threads][];
+        for (int t = 0; t < threads; t++) {
+            operations[t] = operations(random.split(), writeRatio);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            run(executor, map, operations, WARMUP_MILLIS, null);
+            LongAdder allocated = new LongAdder();
+            long[] result = run(executor, map, operations, MEASURE_MILLIS, allocated);
+            return new Result(type.displayName, writeRatio, threads, result[0], result[1],
+                MemoryMeter.isAllocationSupported() ? allocated.sum() : -1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 每個元素為 key 索引 << 2 | 操作種類
+    private int[] operations(SplittableRandom random, double writeRatio) {
+        int[] operations = new int[OPERATIONS_PER_THREAD];
+        for (int i = 0; i < operations.length; i++) {
+            int kind = random.nextDouble() < writeRatio ? (random.nextBoolean() ? PUT : REMOVE) : GET;
+            operations[i] = random.nextInt(keys.length) << 2 | kind;
+        }
+        return operations;
+    }
+
+    /**
+     * 所有執行緒在同一個屏障後開始，主執行緒等待 millis 後設定停止旗標
+     * @return {總操作數, 經過 ns}
+     */
+    private long[] run(ExecutorService executor, Map<String, Integer> map, int[][] operations, long millis,
+                       LongAdder allocated) throws InterruptedException {
+        int threads = operations.length;
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Long>> workers = new ArrayList<>();
+        for (int[] sequence : operations) {
+            workers.add(executor.submit(() -> work(map, sequence, start, stop, allocated)));
+        }
+        try {
+            start.await();
+            long startTime = System.nanoTime();
+            Thread.sleep(millis);
+            stop.set(true);
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return new long[] {total, System.nanoTime() - startTime};
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("worker failed to start", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(map.getClass().getSimpleName() + " worker failed", e.getCause());
+        } finally {
+            stop.set(true);
+        }
+    }
+
+    private long work(Map<String, Integer> map, int[] operations, CyclicBarrier start, AtomicBoolean stop,
+                      LongAdder allocated) throws InterruptedException, BrokenBarrierException {
+        start.await();
+        long allocatedBefore = MemoryMeter.currentThreadAllocatedBytes();
+        long count = 0;
+        long checksum = 0;
+        int position = 0;
+        int offset = 0;
+        while (!stop.get()) {
+            for (int i = 0; i < STOP_CHECK_INTERVAL; i++) {
+                int operation = operations[position];
+                position = (position + 1) & (OPERATIONS_PER_THREAD - 1);
+                if (position == 0) {
+                    offset = (int) ((offset + (long) CYCLE_OFFSET) % keys.length);
+                }
+                int index = (operation >>> 2) + offset;
+                String key = keys[index < keys.length ? index : index - keys.length];
+                switch (operation & 3) {
+                    case GET:
+                        Integer value = map.get(key);
+                        checksum += value == null ? 0 : value;
+                        break;
+                    case PUT:
+                        map.put(key, operation & 127);
+                        break;
+                    default:
+                        map.remove(key);
+                        break;
+                }
+            }
+            count += STOP_CHECK_INTERVAL;
+        }
+        if (allocated != null) {
+            allocated.add(MemoryMeter.currentThreadAllocatedBytes() - allocatedBefore);
+        }
+        blackhole = checksum;
+        return count;
+    }
+}
@@ -0,0 +1,238 @@
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 可供多執行緒同時呼叫的密碼產生器
+ * HashFunction 本身持有可變的 SecureRandom 與亂數區塊，不能在執行緒之間共用；
+ * 這裡讓每個執行緒第一次呼叫時建立自己的 HashFunction 實例 (相同演算法)，
+ * 並配上獨立播種的 DRBG，之後只在自己的實例上產生，不會互相競爭
+ *
+ * 預設的 new SecureRandom() 在 Linux 上是 NativePRNG，所有實例共用同一個讀取 /dev/urandom 的鎖，
+ * 每個執行緒各自一個 NativePRNG 仍會排隊，因此改用狀態完全獨立的 DRBG；
+ * 驗證時可改傳入其他 SecureRandom 來源 (例如固定種子的 SHA1PRNG)
+ */
+class ConcurrentPasswordGenerator {
+    private final Supplier<? extends HashFunction> factory;
+    private final Supplier<? extends SecureRandom> randoms;
+    private final ThreadLocal<HashFunction> threadFunctions;
+    // 第一個建立的實例提供，不必為了名稱另外建立並播種一個實例
+    private volatile String algorithmName;
+    private final AtomicInteger instanceCount = new AtomicInteger();
+
+    public ConcurrentPasswordGenerator(Supplier<? extends HashFunction> factory) {
+        this(factory, ConcurrentPasswordGenerator::newThreadRandom);
+    }
+
+    /**
+     * @param randoms 每個執行緒建立實例時呼叫一次，在該執行緒上執行，傳回的 SecureRandom 只給該執行緒的實例使用
+     */
+    public ConcurrentPasswordGenerator(Supplier<? extends HashFunction> factory,
+                                       Supplier<? extends SecureRandom> randoms) {
+        this.factory = factory;
+        this.randoms = randoms;
+        this.threadFunctions = ThreadLocal.withInitial(this::newThreadFunction);
+    }
+
+    private HashFunction newThreadFunction() {
+        HashFunction function = factory.get();
+        function.useSecureRandom(randoms.get());
+        if (algorithmName == null) {
+            algorithmName = function.getAlgorithmName();
+        }
+        instanceCount.incrementAndGet();
+        return function;
+    }
+
+    /**
+     * 每個執行緒一個 DRBG，建立時由系統亂數來源各自播種
+     */
+    static SecureRandom newThreadRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    public String generatePassword(CharacterSet charSet, int length) {
+        return threadFunctions.get().generatePassword(charSet, length);
+    }
+
+    public String generatePassword(String charSet, int length) {
+        return threadFunctions.get().generatePassword(charSet, length);
+    }
+
+    public String[] generateBatch(CharacterSet charSet, int length, int count) {
+        return threadFunctions.get().generateBatch(charSet, length, count);
+    }
+
+    public void generatePassword(CharacterSet charSet, char[] dest, int offset, int length) {
+        threadFunctions.get().generatePassword(charSet, dest, offset, length);
+    }
+
+    /**
+     * 尚未產生過密碼時，會為呼叫端執行緒建立它自己的實例來取得名稱
+     */
+    public String getAlgorithmName() {
+        String name = algorithmName;
+        return name != null ? name : threadFunctions.get().getAlgorithmName();
+    }
+
+    /** 已建立的執行緒專用實例數量 */
+    public int getInstanceCount() {
+        return instanceCount.get();
+    }
+}
+
+
+/**
+ * 多執行緒驗證工具
+ * 每個執行緒的實例使用依執行緒編號固定播種的 SHA1PRNG，多個執行緒同時從同一個
+ * ConcurrentPasswordGenerator 產生密碼 (交替使用批次與 char[] 兩種方式)，
+ * 再於單一執行緒以相同種子的新產生器重播同樣的呼叫順序，每個執行緒的輸出都必須與重播完全一致；
+ * 若實例、亂數區塊或 SecureRandom 在執行緒之間共用，取得的亂數會交錯而與重播不符
+ *
+ * 逐字符的 generatePassword(CharacterSet, int) 會混入 System.nanoTime，無法重播，因此不在此檢查
+ */
+class ConcurrentPasswordGeneratorDebugger {
+    private static final long SEED_BASE = 0x5EED_0000L;
+    // 每批次的密碼數，批次之間穿插一次 char[] 產生
+    private static final int BATCH = 8;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int length = 16;
+        CharacterSet charSet = CharacterSet.of(true, true, true, true);
+
+        List<Supplier<HashFunction>> factories = new ArrayList<>();
+        factories.add(SimpleHashFunction::new);
+        factories.add(MultiplicationHashFunction::new);
+        factories.add(UniversalHashFunction::new);
+        factories.add(MersennePrimeHashFunction::new);
+        factories.add(MultiplyShiftHashFunction::new);
+        factories.add(TabulationHashFunction::new);
+        factories.add(RejectionSamplingHashFunction::new);
+        factories.add(ChaCha20HashFunction::new);
+
+        boolean passed = true;
+        for (Supplier<HashFunction> factory : factories) {
+            passed &= check(factory, charSet, length, threads, perThread);
+        }
+        System.out.println(passed ? "ALL CHECKS PASSED" : "CHECKS FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(Supplier<HashFunction> factory, CharacterSet charSet, int length,
+                                 int threads, int perThread) throws Exception {
+        // 工作執行緒在第一次產生前設定自己的編號，建立實例時據此選擇種子
+        ThreadLocal<Integer> threadIndex = new ThreadLocal<>();
+        ConcurrentPasswordGenerator generator =
+            new ConcurrentPasswordGenerator(factory, () -> seededRandom(SEED_BASE + threadIndex.get()));
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<String>>> results = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            results.add(executor.submit(() -> {
+                threadIndex.set(index);
+                start.await();
+                return generate(generator, charSet, length, perThread);
+            }));
+        }
+        start.countDown();
+
+        List<List<String>> sequences = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            sequences.add(result.get());
+        }
+        executor.shutdown();
+        double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        System.out.println("=== " + generator.getAlgorithmName() + ": "
+            + threads + " threads x " + perThread + " passwords ===");
+
+        long total = (long) threads * perThread;
+        int malformed = 0;
+        int diverged = 0;
+        for (int t = 0; t < threads; t++) {
+            for (String password : sequences.get(t)) {
+                if (!isWellFormed(password, charSet, length)) {
+                    malformed++;
+                }
+            }
+            // 單一執行緒重播：新的產生器、相同種子、相同的呼叫順序
+            long seed = SEED_BASE + t;
+            ConcurrentPasswordGenerator replay = new ConcurrentPasswordGenerator(factory, () -> seededRandom(seed));
+            if (!generate(replay, charSet, length, perThread).equals(sequences.get(t))) {
+                diverged++;
+            }
+        }
+
+        boolean ok = true;
+        ok &= report("instances per thread", generator.getInstanceCount() == threads,
+            generator.getInstanceCount() + " created for " + threads + " threads");
+        ok &= report("well-formed passwords", malformed == 0, malformed + " malformed of " + total);
+        ok &= report("matches single-threaded replay", diverged == 0,
+            diverged + " of " + threads + " threads diverged");
+        System.out.printf("Elapsed: %.1f ms (%.0f passwords/s)\n\n", elapsedMs, total / (elapsedMs / 1000));
+        return ok;
+    }
+
+    private static List<String> generate(ConcurrentPasswordGenerator generator, CharacterSet charSet, int length,
+                                         int count) {
+        List<String> passwords = new ArrayList<>(count);
+        char[] buffer = new char[length];
+        while (passwords.size() < count) {
+            Collections.addAll(passwords, generator.generateBatch(charSet, length,
+                Math.min(BATCH, count - passwords.size())));
+            if (passwords.size() < count) {
+                generator.generatePassword(charSet, buffer, 0, length);
+                passwords.add(new String(buffer));
+            }
+        }
+        return passwords;
+    }
+
+    /**
+     * 在第一次取用前設定種子，SHA1PRNG 的輸出就只由這個種子決定
+     */
+    private static SecureRandom seededRandom(long seed) {
+        try {
+            SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(seed);
+            return random;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA1PRNG is not available on this platform", e);
+        }
+    }
+
+    private static boolean isWellFormed(String password, CharacterSet charSet, int length) {
+        if (password.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!charSet.contains(password.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean report(String name, boolean passed, String detail) {
+        System.out.printf("%-38s %s (%s)\n", name, passed ? "OK" : "FAILED", detail);
+        return passed;
+    }
+}
@@ -0,0 +1,255 @@
+import java.lang.management.ManagementFactory;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * 背景亂數預取池
+ * 由單一背景執行緒從 SecureRandom 預先產生亂數，放入無鎖的環狀緩衝區 (單一生產者 / 多消費者)，
+ * 產生密碼的執行緒 (包含 Swing EDT) 只需從緩衝區取值，幾乎不必等待作業系統的亂數來源
+ *
+ * 水位控制：存量降到低水位時喚醒生產者，補到高水位後生產者休眠
+ * 共用的亂數池會註冊為 platform MBean (PasswordGenerator:type=EntropyPool)
+ */
+final class EntropyPool implements EntropyPoolMBean {
+    // 預設容量 (long 個數)，16384 個 long = 128 KiB
+    private static final int DEFAULT_CAPACITY = 1 << 14;
+    // 生產者每次向 SecureRandom 取得的 long 個數
+    private static final int REFILL_CHUNK = 512;
+    // 消費者在緩衝區耗盡時先自旋的次數，之後改為短暫 park
+    private static final int STALL_SPINS = 64;
+
+    private static volatile EntropyPool shared;
+
+    private final long[] ring;
+    private final int mask;
+    private final int lowWaterMark;
+    private final int highWaterMark;
+    private final SecureRandom source;
+    private final Thread producer;
+    private volatile boolean running = true;
+
+    // writeSequence: 已發布的 long 總數；readSequence: 已被取走的 long 總數
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final AtomicLong readSequence = new AtomicLong();
+
+    // 統計資料
+    private final long startNanos = System.nanoTime();
+    private final LongAdder exhaustionStalls = new LongAdder();
+    private final LongAdder stallNanos = new LongAdder();
+    private volatile long refillCount;
+    private volatile long refilledBytes;
+    private volatile long lowestLevel = Long.MAX_VALUE;
+
+    public EntropyPool() {
+        this(new SecureRandom(), DEFAULT_CAPACITY, DEFAULT_CAPACITY / 4, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity      緩衝區容量 (long 個數，需為 2 的次方)
+     * @param lowWaterMark  存量低於此值時喚醒生產者
+     * @param highWaterMark 生產者補充到此存量後休眠
+     */
+    public EntropyPool(SecureRandom source, int capacity, int lowWaterMark, int highWaterMark) {
+        if (capacity < REFILL_CHUNK || (capacity & (capacity - 1)) != 0) {
+            throw new IllegalArgumentException("capacity must be a power of two >= " + REFILL_CHUNK + ": " + capacity);
+        }
+        if (lowWaterMark < 0 || lowWaterMark >= highWaterMark || highWaterMark > capacity) {
+            throw new IllegalArgumentException(
+                "require 0 <= lowWaterMark < highWaterMark <= capacity, got " + lowWaterMark + "/" + highWaterMark);
+        }
+        this.source = source;
+        this.ring = new long[capacity];
+        this.mask = capacity - 1;
+        this.lowWaterMark = lowWaterMark;
+        this.highWaterMark = highWaterMark;
+
+        this.producer = new Thread(this::produce, "EntropyPool-producer");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    /**
+     * 整個程式共用的亂數池，第一次使用時才啟動背景執行緒
+     */
+    public static EntropyPool shared() {
+        EntropyPool pool = shared;
+        if (pool == null) {
+            synchronized (EntropyPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    shared = pool = new EntropyPool();
+                    register(pool);
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static void register(EntropyPool pool) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(pool, getObjectName());
+        } catch (JMException | SecurityException e) {
+            // 無法註冊 (例如名稱已被其他 class loader 使用) 時仍可由 toString 與 getter 取得統計
+        }
+    }
+
+    static ObjectName getObjectName() throws JMException {
+        return new ObjectName(GenerationMetrics.DOMAIN + ":type=EntropyPool");
+    }
+
+    /**
+     * 取出一個 64 位元亂數，每個值只會被一個消費者取得
+     */
+    public long nextLong() {
+        int spins = 0;
+        long stallStart = 0;
+        while (true) {
+            long read = readSequence.get();
+            long level = writeSequence.get() - read;
+            if (level <= 0) {
+                // 緩衝區已空，只能等待生產者
+                if (stallStart == 0) {
+                    stallStart = System.nanoTime();
+                    exhaustionStalls.increment();
+                }
+                LockSupport.unpark(producer);
+                if (++spins < STALL_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+                continue;
+            }
+            // 先讀值再以 CAS 認領；CAS 成功代表該格在讀取期間未被生產者覆寫
+            long value = ring[(int) read & mask];
+            if (readSequence.compareAndSet(read, read + 1)) {
+                if (stallStart != 0) {
+                    stallNanos.add(System.nanoTime() - stallStart);
+                }
+                if (level - 1 <= lowWaterMark) {
+                    LockSupport.unpark(producer);
+                }
+                return value;
+            }
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(producer);
+    }
+
+    private void produce() {
+        byte[] bytes = new byte[REFILL_CHUNK * Long.BYTES];
+        boolean filling = true;
+        while (running) {
+            long write = writeSequence.get();
+            long level = write - readSequence.get();
+            if (refillCount > 0 && level < lowestLevel) {
+                lowestLevel = level;
+            }
+            if (!filling && level > lowWaterMark) {
+                // 休眠直到消費者降到低水位時喚醒 (逾時只是保險)
+                LockSupport.parkNanos(this, 1_000_000);
+                continue;
+            }
+            if (level >= highWaterMark) {
+                filling = false;
+                continue;
+            }
+            filling = true;
+            // 最多補到高水位，因此不會覆寫尚未被取走的值
+            int chunk = (int) Math.min(REFILL_CHUNK, highWaterMark - level);
+            source.nextBytes(bytes);
+            for (int i = 0; i < chunk; i++) {
+                long value = 0;
+                for (int b = 0; b < Long.BYTES; b++) {
+                    value = (value << 8) | (bytes[i * Long.BYTES + b] & 0xFFL);
+                }
+                ring[(int) (write + i) & mask] = value;
+            }
+            // volatile 寫入，發布前面寫好的格子
+            writeSequence.set(write + chunk);
+            refillCount++;
+            refilledBytes += (long) chunk * Long.BYTES;
+        }
+        Arrays.fill(bytes, (byte) 0);
+    }
+
+    // ===== 統計資料 =====
+
+    @Override
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    @Override
+    public int getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    @Override
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /** 目前可取用的 long 個數 */
+    @Override
+    public long getLevel() {
+        return Math.max(0, writeSequence.get() - readSequence.get());
+    }
+
+    /** 生產者觀察到的最低存量 */
+    @Override
+    public long getLowestLevel() {
+        long level = lowestLevel;
+        return level == Long.MAX_VALUE ? getLevel() : level;
+    }
+
+    @Override
+    public long getRefillCount() {
+        return refillCount;
+    }
+
+    @Override
+    public long getRefilledBytes() {
+        return refilledBytes;
+    }
+
+    @Override
+    public long getConsumedBytes() {
+        return readSequence.get() * Long.BYTES;
+    }
+
+    /** 開始至今的平均補充速率 (bytes/s) */
+    @Override
+    public double getRefillRate() {
+        double elapsedSec = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return elapsedSec > 0 ? refilledBytes / elapsedSec : 0;
+    }
+
+    /** 消費者遇到緩衝區耗盡的次數 */
+    @Override
+    public long getExhaustionStalls() {
+        return exhaustionStalls.sum();
+    }
+
+    /** 消費者因耗盡而等待的總時間 (ns) */
+    @Override
+    public long getStallNanos() {
+        return stallNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntropyPool[level=%d/%d, low=%d, high=%d, lowest=%d, refills=%d, "
+                + "refillRate=%.1f KB/s, consumed=%d B, stalls=%d (%.3f ms)]",
+            getLevel(), getCapacity(), lowWaterMark, highWaterMark, getLowestLevel(), getRefillCount(),
+            getRefillRate() / 1024, getConsumedBytes(), getExhaustionStalls(), getStallNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * 共用亂數池的 JMX 介面 (Standard MBean 介面必須為 public)
+ * ObjectName: PasswordGenerator:type=EntropyPool
+ */
+public interface EntropyPoolMBean {
+
+    int getCapacity();
+
+    int getLowWaterMark();
+
+    int getHighWaterMark();
+
+    long getLevel();
+
+    long getLowestLevel();
+
+    long getRefillCount();
+
+    long getRefilledBytes();
+
+    long getConsumedBytes();
+
+    double getRefillRate();
+
+    long getExhaustionStalls();
+
+    long getStallNanos();
+}
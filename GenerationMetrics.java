@@ -0,0 +1,289 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * 每個演算法 (getAlgorithmName) 的密碼產生統計，並註冊為 platform MBean
+ * 記錄產生的密碼數、字符數、消耗的亂數位元組數，以及每組密碼的延遲直方圖 (p50/p99/p999)
+ *
+ * 與 LongAdder 相同採分散計數：每個執行緒寫入自己的計數格 (單一寫入者，不需 CAS)，
+ * 讀取時再加總所有計數格，因此多執行緒同時記錄也不會互相競爭；
+ * 執行緒結束後，其計數格在下次讀取或有新執行緒加入時併入 retired 並移除，計數格數量不會隨執行緒池重建而成長
+ *
+ * 延遲只取樣記錄 (elapsedNanos 為 NOT_SAMPLED 時只計數)，直方圖與平均延遲以取樣到的密碼計算
+ * 啟動時加上 -Dpasswordgenerator.metrics=false 可完全關閉
+ */
+final class GenerationMetrics implements GenerationMetricsMBean {
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("passwordgenerator.metrics", "true"));
+
+    static final String DOMAIN = "PasswordGenerator";
+    // HashFunction 平均每這麼多次產生隨機取樣一次延遲，其餘只計數
+    static final int LATENCY_SAMPLE_INTERVAL = 16;
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    // 對數-線性直方圖：每個 2 的次方區間再分成 8 格，相對誤差 12.5%，上限約 2^40 ns (18 分鐘)
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    // 計數格內的欄位位置
+    private static final int PASSWORDS = 0;
+    private static final int CHARACTERS = 1;
+    private static final int ENTROPY_BYTES = 2;
+    private static final int LATENCY_SUM = 3;
+    private static final int LATENCY_MAX = 4;
+    private static final int LATENCY_SAMPLES = 5;
+    private static final int HISTOGRAM = 6;
+    private static final int CELL_LENGTH = HISTOGRAM + BUCKETS;
+
+    // opaque 讀寫：寫入端不需要記憶體屏障，讀取端仍能看到完整的 64 位元值
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final Map<String, GenerationMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String algorithmName;
+    private final Queue<Cell> cells = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<long[]> localCell = ThreadLocal.withInitial(this::newCell);
+    // 已結束執行緒的計數合計，只在持有此物件的鎖時存取
+    private final long[] retired = new long[CELL_LENGTH];
+
+    /**
+     * 一個執行緒的計數格；只以弱參照指向擁有者，不阻止執行緒被回收
+     */
+    private static final class Cell {
+        final WeakReference<Thread> owner;
+        final long[] counts = new long[CELL_LENGTH];
+
+        Cell(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        boolean isRetired() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    private GenerationMetrics(String algorithmName) {
+        this.algorithmName = algorithmName;
+    }
+
+    /**
+     * 取得 (第一次時建立並註冊) 指定演算法的統計
+     */
+    static GenerationMetrics forAlgorithm(String algorithmName) {
+        return REGISTRY.computeIfAbsent(algorithmName, GenerationMetrics::register);
+    }
+
+    private static GenerationMetrics register(String algorithmName) {
+        GenerationMetrics metrics = new GenerationMetrics(algorithmName);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metrics.getObjectName());
+        } catch (JMException | SecurityException e) {
+            // 無法註冊 (例如名稱已被其他 class loader 使用) 時仍在程式內計數
+        }
+        return metrics;
+    }
+
+    ObjectName getObjectName() throws JMException {
+        return new ObjectName(DOMAIN + ":type=GenerationMetrics,algorithm=" + ObjectName.quote(algorithmName));
+    }
+
+    /**
+     * 記錄一次產生
+     * @param passwords    本次產生的密碼數，批次時延遲以平均值計入直方圖
+     * @param characters   產生的字符總數
+     * @param entropyBytes 消耗的亂數位元組數
+     * @param elapsedNanos 整次產生的耗時，未取樣時為 NOT_SAMPLED
+     */
+    void record(int passwords, long characters, long entropyBytes, long elapsedNanos) {
+        if (passwords <= 0) {
+            return;
+        }
+        long[] cell = localCell.get();
+        add(cell, PASSWORDS, passwords);
+        add(cell, CHARACTERS, characters);
+        add(cell, ENTROPY_BYTES, entropyBytes);
+        if (elapsedNanos == NOT_SAMPLED) {
+            return;
+        }
+        long perPassword = elapsedNanos / passwords;
+        add(cell, LATENCY_SUM, elapsedNanos);
+        add(cell, LATENCY_SAMPLES, passwords);
+        add(cell, HISTOGRAM + bucketIndex(perPassword), passwords);
+        if (perPassword > cell[LATENCY_MAX]) {
+            COUNTS.setOpaque(cell, LATENCY_MAX, perPassword);
+        }
+    }
+
+    // 計數格只有擁有者執行緒會寫入
+    private static void add(long[] cell, int index, long delta) {
+        COUNTS.setOpaque(cell, index, cell[index] + delta);
+    }
+
+    private synchronized long[] newCell() {
+        reap();
+        Cell cell = new Cell(Thread.currentThread());
+        cells.add(cell);
+        return cell.counts;
+    }
+
+    /**
+     * 將已結束執行緒的計數格併入 retired 後移除 (isAlive 為 false 後其寫入皆已可見)
+     * 呼叫端需持有此物件的鎖
+     */
+    private void reap() {
+        for (Iterator<Cell> it = cells.iterator(); it.hasNext(); ) {
+            Cell cell = it.next();
+            if (!cell.isRetired()) {
+                continue;
+            }
+            for (int i = 0; i < CELL_LENGTH; i++) {
+                retired[i] = i == LATENCY_MAX ? Math.max(retired[i], cell.counts[i]) : retired[i] + cell.counts[i];
+            }
+            it.remove();
+        }
+    }
+
+    private synchronized long sum(int index) {
+        reap();
+        long total = retired[index];
+        for (Cell cell : cells) {
+            total += (long) COUNTS.getOpaque(cell.counts, index);
+        }
+        return total;
+    }
+
+    /**
+     * 目前保留的計數格數，即仍存活且曾記錄過的執行緒數
+     */
+    synchronized int getCellCount() {
+        reap();
+        return cells.size();
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // 格子所涵蓋範圍的上限
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * 延遲的分位數 (ns)，quantile 介於 0 到 1
+     */
+    public synchronized long getLatencyPercentile(double quantile) {
+        reap();
+        long[] histogram = Arrays.copyOfRange(retired, HISTOGRAM, CELL_LENGTH);
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        for (Cell cell : cells) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = (long) COUNTS.getOpaque(cell.counts, HISTOGRAM + i);
+                histogram[i] += count;
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getLatencyMaxNanos());
+            }
+        }
+        return getLatencyMaxNanos();
+    }
+
+    // ===== MBean 屬性 =====
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    @Override
+    public long getPasswordsGenerated() {
+        return sum(PASSWORDS);
+    }
+
+    @Override
+    public long getCharactersGenerated() {
+        return sum(CHARACTERS);
+    }
+
+    @Override
+    public long getEntropyBytesConsumed() {
+        return sum(ENTROPY_BYTES);
+    }
+
+    @Override
+    public synchronized double getMeanLatencyNanos() {
+        long samples = sum(LATENCY_SAMPLES);
+        return samples == 0 ? 0 : (double) sum(LATENCY_SUM) / samples;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return getLatencyPercentile(0.50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return getLatencyPercentile(0.99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return getLatencyPercentile(0.999);
+    }
+
+    @Override
+    public synchronized long getLatencyMaxNanos() {
+        reap();
+        long max = retired[LATENCY_MAX];
+        for (Cell cell : cells) {
+            max = Math.max(max, (long) COUNTS.getOpaque(cell.counts, LATENCY_MAX));
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: passwords=%d, chars=%d, entropy=%d B, latency mean=%.0f ns, "
+                + "p50=%d ns, p99=%d ns, p999=%d ns, max=%d ns",
+            algorithmName, getPasswordsGenerated(), getCharactersGenerated(), getEntropyBytesConsumed(),
+            getMeanLatencyNanos(), getLatencyP50Nanos(), getLatencyP99Nanos(), getLatencyP999Nanos(),
+            getLatencyMaxNanos());
+    }
+}
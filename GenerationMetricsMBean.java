@@ -0,0 +1,24 @@
+/**
+ * 密碼產生統計的 JMX 介面 (Standard MBean 介面必須為 public)
+ * ObjectName: PasswordGenerator:type=GenerationMetrics,algorithm=&lt;演算法名稱&gt;
+ */
+public interface GenerationMetricsMBean {
+
+    String getAlgorithmName();
+
+    long getPasswordsGenerated();
+
+    long getCharactersGenerated();
+
+    long getEntropyBytesConsumed();
+
+    double getMeanLatencyNanos();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    long getLatencyMaxNanos();
+}
@@ -0,0 +1,212 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 大規模 Hash 分布分析引擎
+ * 將取樣平均分配到多個執行緒，每個執行緒累計自己的 long[] 直方圖，最後再合併，
+ * 執行緒之間沒有任何共享寫入；除了原本的最小/最大值、標準差與均勻性，
+ * 另外計算卡方統計量、p 值與最大偏差
+ */
+final class HashDistributionAnalyzer {
+
+    /**
+     * 單一 Hash Function 的分布統計結果
+     */
+    static final class Result {
+        final String algorithmName;
+        final int buckets;
+        final long samples;
+        final double expected;
+        final long min, max;
+        final double stdDev;
+        final double uniformity;
+        final double chiSquare;
+        final double pValue;
+        final double maxDeviation;
+        final long elapsedNanos;
+        // 所有取樣執行緒合計配置的位元組數，不支援量測時為 -1
+        final long allocatedBytes;
+
+        Result(String algorithmName, int buckets, long samples, long[] histogram, long elapsedNanos,
+               long allocatedBytes) {
+            this.algorithmName = algorithmName;
+            this.buckets = buckets;
+            this.samples = samples;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.expected = (double) samples / buckets;
+
+            long minCount = Long.MAX_VALUE, maxCount = Long.MIN_VALUE;
+            double squares = 0;
+            for (long count : histogram) {
+                double diff = count - expected;
+                squares += diff * diff;
+                minCount = Math.min(minCount, count);
+                maxCount = Math.max(maxCount, count);
+            }
+            this.min = minCount;
+            this.max = maxCount;
+            this.stdDev = Math.sqrt(squares / buckets);
+            this.uniformity = 100.0 * (1.0 - stdDev / expected);
+            this.chiSquare = squares / expected;
+            this.pValue = chiSquareSurvival(chiSquare, buckets - 1);
+            this.maxDeviation = 100.0 * Math.max(maxCount - expected, expected - minCount) / expected;
+        }
+
+        double getSamplesPerSecond() {
+            return samples / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+
+    private static final long INTERRUPT_CHECK_MASK = (1 << 20) - 1;
+
+    private final int threads;
+
+    public HashDistributionAnalyzer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public HashDistributionAnalyzer(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * 以均勻的非負 63 位元隨機輸入取樣 samples 次，統計 hash(input, buckets) 的分布
+     */
+    public Result analyze(HashFunction func, int buckets, long samples) throws InterruptedException {
+        if (buckets < 2) {
+            throw new IllegalArgumentException("buckets must be at least 2: " + buckets);
+        }
+        if (samples < 1) {
+            throw new IllegalArgumentException("samples must be positive: " + samples);
+        }
+
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom root = new SplittableRandom();
+            // 取樣執行緒在 analyze 結束時即關閉，配置量由各執行緒自行量測後累加
+            LongAdder allocated = new LongAdder();
+            List<Future<long[]>> shards = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                // 把餘數平均分給前幾個分片
+                long shardSamples = samples / threads + (t < samples % threads ? 1 : 0);
+                SplittableRandom random = root.split();
+                shards.add(executor.submit(() -> sample(func, buckets, shardSamples, random, allocated)));
+            }
+
+            long[] histogram = new long[buckets];
+            for (Future<long[]> shard : shards) {
+                long[] partial = shard.get();
+                for (int i = 0; i < buckets; i++) {
+                    histogram[i] += partial[i];
+                }
+            }
+            return new Result(func.getAlgorithmName(), buckets, samples, histogram, System.nanoTime() - startTime,
+                MemoryMeter.isAllocationSupported() ? allocated.sum() : -1);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("distribution sampling failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] sample(HashFunction func, int buckets, long samples, SplittableRandom random,
+                                 LongAdder allocated) {
+        long allocatedBefore = MemoryMeter.currentThreadAllocatedBytes();
+        long[] histogram = new long[buckets];
+        for (long i = 0; i < samples; i++) {
+            // 每 2^20 次檢查一次中斷，讓取消分析時能及早停止
+            if ((i & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            histogram[func.hash(random.nextLong() >>> 1, buckets)]++;
+        }
+        allocated.add(MemoryMeter.currentThreadAllocatedBytes() - allocatedBefore);
+        return histogram;
+    }
+
+    // ===== 卡方分布 =====
+
+    /**
+     * 卡方分布的右尾機率 P(X >= x)，即正規化上不完全 Gamma 函數 Q(df/2, x/2)
+     */
+    static double chiSquareSurvival(double x, int degreesOfFreedom) {
+        if (x <= 0) {
+            return 1.0;
+        }
+        double a = degreesOfFreedom / 2.0;
+        double z = x / 2.0;
+        if (z < a + 1) {
+            return 1.0 - lowerGammaSeries(a, z);
+        }
+        return upperGammaContinuedFraction(a, z);
+    }
+
+    // P(a, z) 的級數展開，z < a + 1 時收斂快
+    private static double lowerGammaSeries(double a, double z) {
+        double term = 1.0 / a;
+        double sum = term;
+        for (int n = 1; n < 100000; n++) {
+            term *= z / (a + n);
+            sum += term;
+            if (Math.abs(term) < Math.abs(sum) * 1e-15) {
+                break;
+            }
+        }
+        return sum * Math.exp(-z + a * Math.log(z) - logGamma(a));
+    }
+
+    // Q(a, z) 的連分數展開 (修正 Lentz 法)，z >= a + 1 時收斂快
+    private static double upperGammaContinuedFraction(double a, double z) {
+        final double tiny = 1e-300;
+        double b = z + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+        for (int n = 1; n < 100000; n++) {
+            double an = -n * (n - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny) d = tiny;
+            c = b + an / c;
+            if (Math.abs(c) < tiny) c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < 1e-15) {
+                break;
+            }
+        }
+        return Math.exp(-z + a * Math.log(z) - logGamma(a)) * h;
+    }
+
+    // Lanczos 近似 (g = 7, n = 9)
+    private static final double[] LANCZOS = {
+        0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+        -176.61502916214059, 12.507343278686905, -0.13857109526572012,
+        9.9843695780195716e-6, 1.5056327351493116e-7
+    };
+
+    static double logGamma(double x) {
+        if (x < 0.5) {
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        x -= 1;
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) {
+            sum += LANCZOS[i] / (x + i);
+        }
+        double t = x + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
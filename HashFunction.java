@@ -1,22 +1,430 @@
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.ChaCha20ParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 /**
  * 修正版 Hash Function 實作
  * 解決了 Multiplication Hash Function 的問題
  */
 abstract class HashFunction {
+    // 批次產生時一次向 SecureRandom 取得的位元組數 (512 個 long)
+    protected static final int ENTROPY_BLOCK_SIZE = 4096;
+    
     protected SecureRandom secureRandom;
     protected Random pseudoRandom;
     
+    private final byte[] entropyBlock = new byte[ENTROPY_BLOCK_SIZE];
+    private int entropyPosition = ENTROPY_BLOCK_SIZE;
+    // nextEntropy 的 64 位元拆成兩個 32 位元字供 CharacterSet.select 使用，尚未使用的低 32 位元暫存於此
+    private int spareWord;
+    private boolean hasSpareWord;
+    // 設定後改由背景預取池提供亂數，呼叫端不再同步等待 SecureRandom
+    private volatile EntropyPool entropyPool;
+    
+    // 統計用：批次、char[] 與 CharBuffer 路徑已消耗的亂數位元組數，只在持有此物件的鎖時存取
+    private long entropyBytesConsumed;
+    private GenerationMetrics metrics;
+    
+    // GUI 與效能分析器比較的演算法，順序即 GUI 下拉選單的順序 (RejectionSampling 只供匯出工具使用)
+    private static final List<Supplier<HashFunction>> ALL_FACTORIES = List.of(
+        SimpleHashFunction::new,
+        MultiplicationHashFunction::new,
+        UniversalHashFunction::new,
+        MersennePrimeHashFunction::new,
+        MultiplyShiftHashFunction::new,
+        TabulationHashFunction::new,
+        ChaCha20HashFunction::new
+    );
+    
     public HashFunction() {
-        this.secureRandom = new SecureRandom();
+        this(SecureRandomProvider.DEFAULT);
+    }
+    
+    /**
+     * 以指定的 SecureRandom 實作建立，平台不支援時丟出 IllegalStateException
+     */
+    public HashFunction(SecureRandomProvider provider) {
+        this.secureRandom = provider.create();
         this.pseudoRandom = new Random();
     }
     
-    public abstract String generatePassword(String charSet, int length);
+    /**
+     * GUI 與效能分析器比較的每個演算法各一個新實例
+     */
+    static HashFunction[] allHashFunctions() {
+        HashFunction[] functions = new HashFunction[ALL_FACTORIES.size()];
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = ALL_FACTORIES.get(i).get();
+        }
+        return functions;
+    }
+    
+    /**
+     * 與 allHashFunctions 相同的演算法，需要每個執行緒各自建立實例時使用
+     */
+    static List<Supplier<HashFunction>> allHashFunctionFactories() {
+        return ALL_FACTORIES;
+    }
+    
+    /**
+     * 逐字符產生密碼 (Template Method)
+     * 每個字符由子類別提供輸入值，再經由子類別的 hash 對應到字符集索引
+     */
+    public String generatePassword(String charSet, int length) {
+        long start = metricsStart();
+        StringBuilder password = new StringBuilder(length);
+        int mod = charSet.length();
+        
+        for (int i = 0; i < length; i++) {
+            password.append(charSet.charAt(hash(nextInput(i), mod)));
+        }
+        
+        // 逐字符路徑不持有鎖，消耗量由此次呼叫自行計算，不經過共用欄位
+        recordMetrics(1, length, (long) length * inputEntropyBytes(), start);
+        return password.toString();
+    }
+    
+    public String generatePassword(CharacterSet charSet, int length) {
+        long start = metricsStart();
+        char[] password = new char[length];
+        int size = charSet.size();
+        
+        // 逐字符路徑保留各演算法自己的 hash 縮減，效能與分布分析比較的正是這一步；
+        // 批次、char[] 與 CharBuffer 路徑的輸入本身就是均勻亂數，改由 nextIndex(CharacterSet) 無偏差對應
+        for (int i = 0; i < length; i++) {
+            password[i] = charSet.charAt(hash(nextInput(i), size));
+        }
+        
+        String result = new String(password);
+        Arrays.fill(password, '\0');
+        recordMetrics(1, length, (long) length * inputEntropyBytes(), start);
+        return result;
+    }
+    
+    /**
+     * 批次產生密碼
+     * 以 nextBytes 整塊取得亂數，避免每個字符都呼叫一次 SecureRandom
+     */
+    public synchronized String[] generateBatch(String charSet, int length, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        long start = metricsStart();
+        long entropy = entropyBytesConsumed;
+        char[] buffer = new char[length];
+        String[] passwords = new String[count];
+        
+        for (int n = 0; n < count; n++) {
+            fillPassword(charSet, buffer, 0, length);
+            passwords[n] = new String(buffer);
+        }
+        
+        Arrays.fill(buffer, '\0');
+        recordMetrics(count, length, entropyBytesConsumed - entropy, start);
+        return passwords;
+    }
+    
+    public synchronized String[] generateBatch(CharacterSet charSet, int length, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        long start = metricsStart();
+        long entropy = entropyBytesConsumed;
+        char[] buffer = new char[length];
+        String[] passwords = new String[count];
+        
+        for (int n = 0; n < count; n++) {
+            fillPassword(charSet, buffer, 0, length);
+            passwords[n] = new String(buffer);
+        }
+        
+        Arrays.fill(buffer, '\0');
+        recordMetrics(count, length, entropyBytesConsumed - entropy, start);
+        return passwords;
+    }
+    
+    /**
+     * 將密碼直接寫入呼叫端提供的 char[]，不產生 String 也不配置任何物件
+     * 使用完畢後呼叫端可自行以 Arrays.fill 清除密碼
+     */
+    public synchronized void generatePassword(String charSet, char[] dest, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dest.length - length) {
+            throw new IndexOutOfBoundsException(
+                "offset=" + offset + ", length=" + length + ", capacity=" + dest.length);
+        }
+        long start = metricsStart();
+        long entropy = entropyBytesConsumed;
+        fillPassword(charSet, dest, offset, length);
+        recordMetrics(1, length, entropyBytesConsumed - entropy, start);
+    }
+    
+    public synchronized void generatePassword(CharacterSet charSet, char[] dest, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > dest.length - length) {
+            throw new IndexOutOfBoundsException(
+                "offset=" + offset + ", length=" + length + ", capacity=" + dest.length);
+        }
+        long start = metricsStart();
+        long entropy = entropyBytesConsumed;
+        fillPassword(charSet, dest, offset, length);
+        recordMetrics(1, length, entropyBytesConsumed - entropy, start);
+    }
+    
+    /**
+     * 將密碼寫入 CharBuffer 目前位置，寫入後 position 前進 length
+     */
+    public synchronized void generatePassword(String charSet, CharBuffer dest, int length) {
+        if (length < 0 || dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        long startNanos = metricsStart();
+        long entropy = entropyBytesConsumed;
+        if (dest.hasArray()) {
+            int start = dest.arrayOffset() + dest.position();
+            fillPassword(charSet, dest.array(), start, length);
+            dest.position(dest.position() + length);
+        } else {
+            int mod = charSet.length();
+            for (int i = 0; i < length; i++) {
+                dest.put(charSet.charAt(nextIndex(mod)));
+            }
+        }
+        recordMetrics(1, length, entropyBytesConsumed - entropy, startNanos);
+    }
+    
+    public synchronized void generatePassword(CharacterSet charSet, CharBuffer dest, int length) {
+        if (length < 0 || dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        long startNanos = metricsStart();
+        long entropy = entropyBytesConsumed;
+        if (dest.hasArray()) {
+            int start = dest.arrayOffset() + dest.position();
+            fillPassword(charSet, dest.array(), start, length);
+            dest.position(dest.position() + length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                dest.put(charSet.charAt(nextIndex(charSet)));
+            }
+        }
+        recordMetrics(1, length, entropyBytesConsumed - entropy, startNanos);
+    }
+    
+    private void fillPassword(String charSet, char[] dest, int offset, int length) {
+        int mod = charSet.length();
+        for (int i = offset; i < offset + length; i++) {
+            dest[i] = charSet.charAt(nextIndex(mod));
+        }
+    }
+    
+    /**
+     * 批次、寫入 char[] 與 CharBuffer 時下一個字符的索引，範圍 [0, size)
+     * 呼叫端需持有此物件的鎖
+     */
+    protected int nextIndex(int size) {
+        // 取 63 位元確保輸入為非負數
+        return hash(nextEntropy() >>> 1, size);
+    }
+    
+    /**
+     * 批次與寫入 char[] 時的產生方式，子類別可改寫為整塊對應
+     * 呼叫端需持有此物件的鎖
+     */
+    protected void fillPassword(CharacterSet charSet, char[] dest, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            dest[i] = charSet.charAt(nextIndex(charSet));
+        }
+    }
+    
+    /**
+     * 編譯過的字符集下一個字符的索引：以 CharacterSet.select 無偏差對應 32 位元亂數
+     * (2 的次方大小只取遮罩，其餘為乘法縮減加拒絕取樣)，不需要逐字符取餘數
+     * 呼叫端需持有此物件的鎖
+     */
+    protected int nextIndex(CharacterSet charSet) {
+        int index;
+        do {
+            index = charSet.select(nextEntropyWord());
+        } while (index < 0);
+        return index;
+    }
+    
+    private int nextEntropyWord() {
+        if (hasSpareWord) {
+            int word = spareWord;
+            // 已使用的亂數立即清除
+            spareWord = 0;
+            hasSpareWord = false;
+            return word;
+        }
+        long bits = nextEntropy();
+        spareWord = (int) bits;
+        hasSpareWord = true;
+        return (int) (bits >>> 32);
+    }
+    
+    // 平均每 LATENCY_SAMPLE_INTERVAL 次隨機取樣一次，才呼叫 System.nanoTime 量測延遲；
+    // 取樣只用目前執行緒的 ThreadLocalRandom，實例由多個執行緒共用時也沒有共用的計數器
+    private static long metricsStart() {
+        if (!GenerationMetrics.ENABLED
+                || ThreadLocalRandom.current().nextInt(GenerationMetrics.LATENCY_SAMPLE_INTERVAL) != 0) {
+            return GenerationMetrics.NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+    
+    private void recordMetrics(int passwords, int length, long entropyBytes, long startNanos) {
+        if (!GenerationMetrics.ENABLED) {
+            return;
+        }
+        long elapsed = startNanos == GenerationMetrics.NOT_SAMPLED
+            ? GenerationMetrics.NOT_SAMPLED : System.nanoTime() - startNanos;
+        getMetrics().record(passwords, (long) passwords * length, entropyBytes, elapsed);
+    }
+    
+    /**
+     * 此演算法的產生統計 (同名演算法的所有實例共用，並已註冊為 MBean)
+     */
+    public GenerationMetrics getMetrics() {
+        GenerationMetrics result = metrics;
+        if (result == null) {
+            metrics = result = GenerationMetrics.forAlgorithm(getAlgorithmName());
+        }
+        return result;
+    }
+    
+    /**
+     * 改用指定的 SecureRandom，尚未使用的亂數區塊會先清除並丟棄
+     */
+    public synchronized void useSecureRandom(SecureRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("random must not be null");
+        }
+        this.secureRandom = random;
+        Arrays.fill(entropyBlock, (byte) 0);
+        entropyPosition = ENTROPY_BLOCK_SIZE;
+        spareWord = 0;
+        hasSpareWord = false;
+    }
+    
+    public SecureRandom getSecureRandom() {
+        return secureRandom;
+    }
+    
+    /**
+     * 改由指定的亂數池提供亂數，傳入 null 則恢復直接使用 secureRandom
+     */
+    public void useEntropyPool(EntropyPool pool) {
+        this.entropyPool = pool;
+    }
+    
+    public EntropyPool getEntropyPool() {
+        return entropyPool;
+    }
+    
+    /**
+     * 取得一個 64 位元亂數，供子類別逐字符產生輸入值使用
+     * 不持有鎖也可呼叫，因此不計入 entropyBytesConsumed (消耗量見 inputEntropyBytes)
+     */
+    protected long nextRandomLong() {
+        EntropyPool pool = entropyPool;
+        return pool != null ? pool.nextLong() : secureRandom.nextLong();
+    }
+    
+    /**
+     * 取得 [0, bound) 範圍內的亂數，與 nextRandomLong 相同不計入 entropyBytesConsumed
+     */
+    protected int nextRandomInt(int bound) {
+        EntropyPool pool = entropyPool;
+        // 64 位元取餘數的偏差約為 bound / 2^64，可忽略
+        return pool != null ? (int) Math.floorMod(pool.nextLong(), (long) bound) : secureRandom.nextInt(bound);
+    }
+    
+    /**
+     * 從亂數區塊取出下一個 64 位元值，區塊用完時整塊補充
+     * 呼叫端需持有此物件的鎖
+     */
+    protected long nextEntropy() {
+        EntropyPool pool = entropyPool;
+        entropyBytesConsumed += Long.BYTES;
+        if (pool != null) {
+            return pool.nextLong();
+        }
+        if (entropyPosition + Long.BYTES > ENTROPY_BLOCK_SIZE) {
+            secureRandom.nextBytes(entropyBlock);
+            entropyPosition = 0;
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (entropyBlock[entropyPosition + i] & 0xFFL);
+        }
+        // 已使用的亂數立即清除
+        Arrays.fill(entropyBlock, entropyPosition, entropyPosition + Long.BYTES, (byte) 0);
+        entropyPosition += Long.BYTES;
+        return value;
+    }
+    
+    /**
+     * 自行產生亂數的子類別以此計入已消耗的位元組數，供產生統計使用
+     * 呼叫端需持有此物件的鎖
+     */
+    protected void countEntropyBytes(long bytes) {
+        entropyBytesConsumed += bytes;
+    }
+    
+    /**
+     * 以亂數區塊填滿 dest 的前 count 個 32 位元亂數
+     * 呼叫端需持有此物件的鎖
+     */
+    protected void nextEntropyInts(int[] dest, int count) {
+        EntropyPool pool = entropyPool;
+        entropyBytesConsumed += (long) count * Integer.BYTES;
+        if (pool != null) {
+            for (int i = 0; i < count; i += 2) {
+                long value = pool.nextLong();
+                dest[i] = (int) value;
+                if (i + 1 < count) {
+                    dest[i + 1] = (int) (value >>> 32);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < count; ) {
+            if (entropyPosition + Integer.BYTES > ENTROPY_BLOCK_SIZE) {
+                secureRandom.nextBytes(entropyBlock);
+                entropyPosition = 0;
+            }
+            int n = Math.min(count - i, (ENTROPY_BLOCK_SIZE - entropyPosition) / Integer.BYTES);
+            ByteBuffer.wrap(entropyBlock, entropyPosition, n * Integer.BYTES).asIntBuffer().get(dest, i, n);
+            Arrays.fill(entropyBlock, entropyPosition, entropyPosition + n * Integer.BYTES, (byte) 0);
+            entropyPosition += n * Integer.BYTES;
+            i += n;
+        }
+    }
+    
+    /**
+     * 逐字符產生時第 position 個字符的 hash 輸入
+     */
+    protected abstract long nextInput(int position);
     protected abstract int hash(long input, int mod);
     public abstract String getAlgorithmName();
+    
+    /**
+     * 每次 nextInput 取用的亂數位元組數，逐字符產生時據此計算消耗量 (預設為一次 nextRandomLong)
+     */
+    protected int inputEntropyBytes() {
+        return Long.BYTES;
+    }
 }
 
 /**
@@ -24,18 +432,24 @@ abstract class HashFunction {
  */
 class SimpleHashFunction extends HashFunction {
     
+    public SimpleHashFunction() {
+        super();
+    }
+    
+    public SimpleHashFunction(SecureRandomProvider provider) {
+        super(provider);
+    }
+    
     @Override
-    public String generatePassword(String charSet, int length) {
-        StringBuilder password = new StringBuilder();
-        
-        for (int i = 0; i < length; i++) {
-            // 使用更強的隨機性
-            long input = System.nanoTime() + i * 1000L + secureRandom.nextInt(1000000);
-            int index = hash(input, charSet.length());
-            password.append(charSet.charAt(index));
-        }
-        
-        return password.toString();
+    protected long nextInput(int position) {
+        // 使用更強的隨機性
+        return System.nanoTime() + position * 1000L + nextRandomInt(1000000);
+    }
+    
+    @Override
+    protected int inputEntropyBytes() {
+        // nextRandomInt 由亂數池取一個 long，直接使用 SecureRandom 時取一個 int
+        return getEntropyPool() != null ? Long.BYTES : Integer.BYTES;
     }
     
     @Override
@@ -58,18 +472,18 @@ class MultiplicationHashFunction extends HashFunction {
     private static final long A = 2654435769L; 
     private static final long MASK = 0xFFFFFFFFL; // 2^32 - 1
     
+    public MultiplicationHashFunction() {
+        super();
+    }
+    
+    public MultiplicationHashFunction(SecureRandomProvider provider) {
+        super(provider);
+    }
+    
     @Override
-    public String generatePassword(String charSet, int length) {
-        StringBuilder password = new StringBuilder();
-        
-        for (int i = 0; i < length; i++) {
-            // 每次產生新的隨機輸入
-            long input = secureRandom.nextLong() + i * 1009L + System.nanoTime();
-            int index = hash(Math.abs(input), charSet.length());
-            password.append(charSet.charAt(index));
-        }
-        
-        return password.toString();
+    protected long nextInput(int position) {
+        // 每次產生新的隨機輸入
+        return Math.abs(nextRandomLong() + position * 1009L + System.nanoTime());
     }
     
     @Override
@@ -101,7 +515,11 @@ class UniversalHashFunction extends HashFunction {
     private long a, b, p;
     
     public UniversalHashFunction() {
-        super();
+        this(SecureRandomProvider.DEFAULT);
+    }
+    
+    public UniversalHashFunction(SecureRandomProvider provider) {
+        super(provider);
         // 每次實例化時重新選擇參數
         this.p = LARGE_PRIMES[secureRandom.nextInt(LARGE_PRIMES.length)];
         this.a = secureRandom.nextLong() % (p - 1) + 1;
@@ -111,17 +529,9 @@ class UniversalHashFunction extends HashFunction {
     }
     
     @Override
-    public String generatePassword(String charSet, int length) {
-        StringBuilder password = new StringBuilder();
-        
-        for (int i = 0; i < length; i++) {
-            // 使用強隨機源
-            long input = secureRandom.nextLong() + i * 1009L + System.nanoTime();
-            int index = hash(Math.abs(input), charSet.length());
-            password.append(charSet.charAt(index));
-        }
-        
-        return password.toString();
+    protected long nextInput(int position) {
+        // 使用強隨機源
+        return Math.abs(nextRandomLong() + position * 1009L + System.nanoTime());
     }
     
     @Override
@@ -143,6 +553,437 @@ class UniversalHashFunction extends HashFunction {
     }
 }
 
+/**
+ * Mersenne 質數通用 Hash Function
+ * h(k) = ((a*k + b) mod p) 對應到 [0, m)，p = 2^61 - 1
+ * 因為 2^61 ≡ 1 (mod p)，128 位元乘積 (Math.multiplyHigh 取高位) 只需位移與相加即可取餘數，完全不用除法
+ */
+class MersennePrimeHashFunction extends HashFunction {
+    private static final long P = (1L << 61) - 1;
+    
+    private final long a, b;
+    
+    public MersennePrimeHashFunction() {
+        this(SecureRandomProvider.DEFAULT);
+    }
+    
+    public MersennePrimeHashFunction(SecureRandomProvider provider) {
+        super(provider);
+        // a ∈ [1, p-1]，b ∈ [0, p-1]
+        this.a = 1 + (secureRandom.nextLong() >>> 3) % (P - 1);
+        this.b = (secureRandom.nextLong() >>> 3) % P;
+    }
+    
+    @Override
+    protected long nextInput(int position) {
+        return (nextRandomLong() + position * 1009L + System.nanoTime()) >>> 1;
+    }
+    
+    @Override
+    protected int hash(long input, int mod) {
+        long x = reduce((input & P) + (input >>> 61));
+        // a*x < 2^122：低 64 位元與高位分別折回 61 位元
+        long low = a * x;
+        long high = Math.multiplyHigh(a, x);
+        long ax = reduce((low & P) + (low >>> 61) + (high << 3));
+        long hashValue = reduce(ax + b);
+        // 取 61 位元結果的高 32 位元乘以 m 再取高位，縮減到 [0, m)
+        return (int) (((hashValue >>> 29) * mod) >>> 32);
+    }
+    
+    // 輸入小於 2^63 時，回傳值與輸入對 p 同餘且位於 [0, p)
+    private static long reduce(long value) {
+        long r = (value & P) + (value >>> 61);
+        return r >= P ? r - P : r;
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return "Mersenne Prime Hash (2^61-1)";
+    }
+    
+    public String getParameters() {
+        return String.format("a=%d, b=%d, p=2^61-1", a, b);
+    }
+}
+
+/**
+ * 乘法位移 Hash Function (Dietzfelbinger multiply-add-shift)
+ * h(k) = (a*k + b) >>> (64 - M)，a 為隨機奇數，m = 2^M 時只需一次乘法與位移；
+ * m 不是 2 的次方時取高 32 位元再以乘法縮減到 [0, m)
+ */
+class MultiplyShiftHashFunction extends HashFunction {
+    private final long a, b;
+    
+    public MultiplyShiftHashFunction() {
+        this(SecureRandomProvider.DEFAULT);
+    }
+    
+    public MultiplyShiftHashFunction(SecureRandomProvider provider) {
+        super(provider);
+        this.a = secureRandom.nextLong() | 1;
+        this.b = secureRandom.nextLong();
+    }
+    
+    @Override
+    protected long nextInput(int position) {
+        return (nextRandomLong() + position * 1009L + System.nanoTime()) >>> 1;
+    }
+    
+    @Override
+    protected int hash(long input, int mod) {
+        long product = a * input + b;
+        if ((mod & (mod - 1)) == 0) {
+            // mod = 1 時位移 64 位元在 Java 中等於不位移，需另外處理
+            return mod == 1 ? 0 : (int) (product >>> (64 - Integer.numberOfTrailingZeros(mod)));
+        }
+        return (int) (((product >>> 32) * mod) >>> 32);
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return "Multiply-Shift Hash (Dietzfelbinger)";
+    }
+    
+    public String getParameters() {
+        return String.format("a=%d, b=%d", a, b);
+    }
+}
+
+/**
+ * 簡單表格 Hash Function (simple tabulation hashing)
+ * 64 位元輸入切成 8 個位元組，各自查一張隨機填滿的 long[256] 表後 XOR，
+ * 為 3-independent，沒有分支也沒有除法；8 張表共 16 KiB，可完整放進 L1 資料快取
+ */
+class TabulationHashFunction extends HashFunction {
+    private static final int TABLES = Long.BYTES;
+    private static final int TABLE_SIZE = 256;
+    
+    private final long[][] tables = new long[TABLES][TABLE_SIZE];
+    private final long tableBuildNanos;
+    
+    public TabulationHashFunction() {
+        this(SecureRandomProvider.DEFAULT);
+    }
+    
+    public TabulationHashFunction(SecureRandomProvider provider) {
+        super(provider);
+        long start = System.nanoTime();
+        byte[] bytes = new byte[TABLES * TABLE_SIZE * Long.BYTES];
+        secureRandom.nextBytes(bytes);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (long[] table : tables) {
+            buffer.asLongBuffer().get(table);
+            buffer.position(buffer.position() + TABLE_SIZE * Long.BYTES);
+        }
+        Arrays.fill(bytes, (byte) 0);
+        this.tableBuildNanos = System.nanoTime() - start;
+    }
+    
+    @Override
+    protected long nextInput(int position) {
+        return (nextRandomLong() + position * 1009L + System.nanoTime()) >>> 1;
+    }
+    
+    @Override
+    protected int hash(long input, int mod) {
+        long h = tables[0][(int) input & 0xFF]
+            ^ tables[1][(int) (input >>> 8) & 0xFF]
+            ^ tables[2][(int) (input >>> 16) & 0xFF]
+            ^ tables[3][(int) (input >>> 24) & 0xFF]
+            ^ tables[4][(int) (input >>> 32) & 0xFF]
+            ^ tables[5][(int) (input >>> 40) & 0xFF]
+            ^ tables[6][(int) (input >>> 48) & 0xFF]
+            ^ tables[7][(int) (input >>> 56) & 0xFF];
+        // 取高 32 位元乘以 m 再取高位，縮減到 [0, m)
+        return (int) (((h >>> 32) * mod) >>> 32);
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return "Tabulation Hash";
+    }
+    
+    /** 建立隨機表 (含向 SecureRandom 取得 16 KiB 亂數) 的時間 */
+    public long getTableBuildNanos() {
+        return tableBuildNanos;
+    }
+    
+    /** 查詢時會存取的表格大小 (bytes)，不含陣列標頭 */
+    public int getTableFootprintBytes() {
+        return TABLES * TABLE_SIZE * Long.BYTES;
+    }
+}
+
+/**
+ * 拒絕取樣 Hash Function (無偏差)
+ * 逐字符產生時以 Lemire 乘法縮減取代除法；批次與寫入 char[] 時整塊取得 32 位元亂數，
+ * 交給 CharMapper (Vector API 可用時為 SIMD 版本) 一次完成縮減、拒絕與查表
+ */
+class RejectionSamplingHashFunction extends HashFunction {
+    // 每次對應的亂數個數，最多產生兩倍的字符
+    private static final int WORD_BLOCK = 512;
+    
+    private final CharMapper mapper;
+    private final int[] words = new int[WORD_BLOCK];
+    private final char[] mapped = new char[WORD_BLOCK * 2];
+    private CharacterSet mappedCharSet;
+    private int mappedPosition;
+    private int mappedEnd;
+    
+    public RejectionSamplingHashFunction() {
+        this(CharMapper.DEFAULT, SecureRandomProvider.DEFAULT);
+    }
+    
+    public RejectionSamplingHashFunction(CharMapper mapper) {
+        this(mapper, SecureRandomProvider.DEFAULT);
+    }
+    
+    public RejectionSamplingHashFunction(SecureRandomProvider provider) {
+        this(CharMapper.DEFAULT, provider);
+    }
+    
+    public RejectionSamplingHashFunction(CharMapper mapper, SecureRandomProvider provider) {
+        super(provider);
+        this.mapper = mapper;
+    }
+    
+    @Override
+    protected long nextInput(int position) {
+        return nextRandomLong() >>> 1;
+    }
+    
+    @Override
+    protected int hash(long input, int mod) {
+        // 取低 32 位元乘以 mod 後的高位，不需除法 (單一字符時的偏差約 mod / 2^32)
+        return (int) (((input & 0xFFFFFFFFL) * mod) >>> 32);
+    }
+    
+    @Override
+    protected void fillPassword(CharacterSet charSet, char[] dest, int offset, int length) {
+        int i = offset;
+        while (i < offset + length) {
+            if (charSet != mappedCharSet || mappedPosition == mappedEnd) {
+                refill(charSet);
+            }
+            int n = Math.min(mappedEnd - mappedPosition, offset + length - i);
+            System.arraycopy(mapped, mappedPosition, dest, i, n);
+            // 已交出的字符立即清除
+            Arrays.fill(mapped, mappedPosition, mappedPosition + n, '\0');
+            mappedPosition += n;
+            i += n;
+        }
+    }
+    
+    private void refill(CharacterSet charSet) {
+        Arrays.fill(mapped, mappedPosition, mappedEnd, '\0');
+        nextEntropyInts(words, WORD_BLOCK);
+        mappedEnd = mapper.map(charSet, words, 0, WORD_BLOCK, mapped, 0);
+        Arrays.fill(words, 0);
+        mappedPosition = 0;
+        mappedCharSet = charSet;
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return "Rejection Sampling (Unbiased)";
+    }
+    
+    public String getMapperName() {
+        return mapper.getName();
+    }
+}
+
+/**
+ * ChaCha20 串流加密 Hash Function (CSPRNG)
+ * 以 SecureRandom 產生的 256 位元金鑰與 96 位元 nonce 初始化 ChaCha20，
+ * 每次取得 64 位元組 (16 個 32 位元字) 的 keystream，以 Lemire 乘法縮減與拒絕取樣無偏差地對應到字符；
+ * 每個字符只需約 4 個 keystream 位元組，不必每個字符都呼叫一次 SecureRandom
+ *
+ * 每輸出 reseedBytes 位元組的 keystream 就以 SecureRandom 換一組新的金鑰與 nonce，
+ * 區塊計數器為 32 位元，同一把金鑰最多 2^32 個區塊 (256 GiB)。
+ * keystream 本身即是亂數來源，因此 useEntropyPool 設定的亂數池不會被使用
+ */
+class ChaCha20HashFunction extends HashFunction {
+    // 預設每 1 MiB keystream 重新產生金鑰
+    static final long DEFAULT_RESEED_BYTES = 1L << 20;
+    static final long MAX_RESEED_BYTES = 1L << 38;
+    
+    private static final int BLOCK_SIZE = 64;
+    private static final int BLOCK_WORDS = BLOCK_SIZE / Integer.BYTES;
+    private static final int KEY_SIZE = 32;
+    private static final int NONCE_SIZE = 12;
+    
+    private final long reseedBytes;
+    private final Cipher cipher;
+    // ChaCha20 以 keystream 與明文 XOR，明文全為 0 時輸出即為 keystream
+    private final byte[] zeros = new byte[BLOCK_SIZE];
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private final int[] words = new int[BLOCK_WORDS];
+    private int wordPosition = BLOCK_WORDS;
+    private long bytesSinceReseed;
+    private long reseedCount;
+    
+    public ChaCha20HashFunction() {
+        this(SecureRandomProvider.DEFAULT, DEFAULT_RESEED_BYTES);
+    }
+    
+    public ChaCha20HashFunction(SecureRandomProvider provider) {
+        this(provider, DEFAULT_RESEED_BYTES);
+    }
+    
+    public ChaCha20HashFunction(long reseedBytes) {
+        this(SecureRandomProvider.DEFAULT, reseedBytes);
+    }
+    
+    /**
+     * @param reseedBytes 每輸出多少位元組的 keystream 重新產生金鑰，範圍 [64, 2^38]
+     */
+    public ChaCha20HashFunction(SecureRandomProvider provider, long reseedBytes) {
+        super(provider);
+        if (reseedBytes < BLOCK_SIZE || reseedBytes > MAX_RESEED_BYTES) {
+            throw new IllegalArgumentException("reseedBytes must be in [64, 2^38]: " + reseedBytes);
+        }
+        this.reseedBytes = reseedBytes;
+        try {
+            this.cipher = Cipher.getInstance("ChaCha20");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ChaCha20 is not available on this platform", e);
+        }
+        reseed();
+    }
+    
+    /**
+     * 逐字符產生也改走 char[] 路徑，keystream 狀態只在持有鎖時存取
+     */
+    @Override
+    public String generatePassword(String charSet, int length) {
+        char[] password = new char[length];
+        generatePassword(charSet, password, 0, length);
+        String result = new String(password);
+        Arrays.fill(password, '\0');
+        return result;
+    }
+    
+    @Override
+    public String generatePassword(CharacterSet charSet, int length) {
+        char[] password = new char[length];
+        generatePassword(charSet, password, 0, length);
+        String result = new String(password);
+        Arrays.fill(password, '\0');
+        return result;
+    }
+    
+    @Override
+    protected int nextIndex(CharacterSet charSet) {
+        int index;
+        do {
+            index = charSet.select(nextWord());
+        } while (index < 0);
+        return index;
+    }
+    
+    @Override
+    protected int nextIndex(int size) {
+        // 乘積低 32 位元小於 2^32 mod size 時拒絕，其餘每個索引恰好對應 floor(2^32 / size) 個值
+        int threshold = (int) ((1L << 32) % size);
+        long product;
+        do {
+            product = (nextWord() & 0xFFFFFFFFL) * size;
+        } while (Integer.compareUnsigned((int) product, threshold) < 0);
+        return (int) (product >>> 32);
+    }
+    
+    @Override
+    protected synchronized long nextInput(int position) {
+        return ((nextWord() & 0xFFFFFFFFL) << 31 | (nextWord() & 0xFFFFFFFFL) >>> 1);
+    }
+    
+    @Override
+    protected int hash(long input, int mod) {
+        // 分布分析與 HashTable 使用：取低 32 位元的 Lemire 乘法縮減 (不做拒絕，偏差約 mod / 2^32)
+        return (int) (((input & 0xFFFFFFFFL) * mod) >>> 32);
+    }
+    
+    /**
+     * 改用指定的 SecureRandom，並立即以它產生新的金鑰
+     */
+    @Override
+    public synchronized void useSecureRandom(SecureRandom random) {
+        super.useSecureRandom(random);
+        reseed();
+    }
+    
+    /**
+     * 立即以 SecureRandom 產生新的金鑰與 nonce，尚未使用的 keystream 會先清除並丟棄
+     */
+    public synchronized void reseed() {
+        byte[] key = new byte[KEY_SIZE];
+        byte[] nonce = new byte[NONCE_SIZE];
+        secureRandom.nextBytes(key);
+        secureRandom.nextBytes(nonce);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "ChaCha20"), new ChaCha20ParameterSpec(nonce, 0));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("failed to initialize ChaCha20", e);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+            Arrays.fill(nonce, (byte) 0);
+        }
+        Arrays.fill(words, 0);
+        wordPosition = BLOCK_WORDS;
+        bytesSinceReseed = 0;
+        reseedCount++;
+    }
+    
+    public long getReseedBytes() {
+        return reseedBytes;
+    }
+    
+    public synchronized long getReseedCount() {
+        return reseedCount;
+    }
+    
+    /**
+     * keystream 的下一個 32 位元字
+     * 呼叫端需持有此物件的鎖
+     */
+    private int nextWord() {
+        if (wordPosition == BLOCK_WORDS) {
+            nextBlock();
+        }
+        int word = words[wordPosition];
+        // 已使用的 keystream 立即清除
+        words[wordPosition++] = 0;
+        countEntropyBytes(Integer.BYTES);
+        return word;
+    }
+    
+    private void nextBlock() {
+        if (bytesSinceReseed >= reseedBytes) {
+            reseed();
+        }
+        try {
+            cipher.update(zeros, 0, BLOCK_SIZE, block, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            int j = i * Integer.BYTES;
+            words[i] = (block[j] & 0xFF) | (block[j + 1] & 0xFF) << 8
+                | (block[j + 2] & 0xFF) << 16 | (block[j + 3] & 0xFF) << 24;
+        }
+        Arrays.fill(block, (byte) 0);
+        wordPosition = 0;
+        bytesSinceReseed += BLOCK_SIZE;
+    }
+    
+    @Override
+    public String getAlgorithmName() {
+        return "ChaCha20 Keystream (CSPRNG)";
+    }
+}
+
 /**
  * Hash Function 測試和驗證工具
  */
@@ -158,6 +999,13 @@ class HashFunctionDebugger {
             System.out.println((i+1) + ". " + password);
         }
         
+        // 測試批次產生
+        System.out.println("\nTesting batch generation (5 passwords):");
+        String[] batch = func.generateBatch(charSet, length, 5);
+        for (int i = 0; i < batch.length; i++) {
+            System.out.println((i+1) + ". " + batch[i]);
+        }
+        
         // 測試hash值分布
         System.out.println("\nTesting hash distribution (first 20 values):");
         for (int i = 0; i < 20; i++) {
@@ -0,0 +1,364 @@
+import java.util.Arrays;
+
+/**
+ * 以 HashFunction 作為雜湊的 long → int 雜湊表
+ * 容量固定 (不自動擴充)，方便以指定的負載因子比較不同的碰撞處理方式與 Hash 策略；
+ * 槽位索引直接由 hashFunction.hash(key, capacity) 取得，key 需為非負數
+ */
+abstract class HashTable {
+    protected final HashFunction hashFunction;
+    protected final int capacity;
+    protected int size;
+
+    protected HashTable(HashFunction hashFunction, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.hashFunction = hashFunction;
+        this.capacity = capacity;
+    }
+
+    protected final int home(long key) {
+        return hashFunction.hash(key, capacity);
+    }
+
+    /**
+     * 加入或更新，key 原本不存在時回傳 true
+     */
+    public abstract boolean put(long key, int value);
+
+    public abstract int get(long key, int missingValue);
+
+    public abstract boolean remove(long key);
+
+    /**
+     * 查詢 key 時檢查的槽位 (或串列節點) 數，找不到時為判定不存在所需的檢查數
+     */
+    public abstract int probeLength(long key);
+
+    public abstract String getName();
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public double loadFactor() {
+        return (double) size / capacity;
+    }
+
+    public HashFunction getHashFunction() {
+        return hashFunction;
+    }
+}
+
+/**
+ * 分離鏈結法：每個 bucket 一條單向串列，節點以平行陣列存放 (不建立節點物件)，刪除的節點放回 free list
+ * capacity 為 bucket 數，節點數上限另外指定
+ */
+class ChainingHashTable extends HashTable {
+    private static final int NIL = -1;
+
+    private final int[] heads;
+    private final int[] next;
+    private final long[] keys;
+    private final int[] values;
+    private int freeList = NIL;
+    private int used;
+
+    public ChainingHashTable(HashFunction hashFunction, int buckets, int maxEntries) {
+        super(hashFunction, buckets);
+        this.heads = new int[buckets];
+        Arrays.fill(heads, NIL);
+        this.next = new int[maxEntries];
+        this.keys = new long[maxEntries];
+        this.values = new int[maxEntries];
+    }
+
+    @Override
+    public boolean put(long key, int value) {
+        int bucket = home(key);
+        for (int node = heads[bucket]; node != NIL; node = next[node]) {
+            if (keys[node] == key) {
+                values[node] = value;
+                return false;
+            }
+        }
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = next[node];
+        } else if (used < keys.length) {
+            node = used++;
+        } else {
+            throw new IllegalStateException("chaining table is full: " + keys.length + " entries");
+        }
+        keys[node] = key;
+        values[node] = value;
+        next[node] = heads[bucket];
+        heads[bucket] = node;
+        size++;
+        return true;
+    }
+
+    @Override
+    public int get(long key, int missingValue) {
+        for (int node = heads[home(key)]; node != NIL; node = next[node]) {
+            if (keys[node] == key) {
+                return values[node];
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean remove(long key) {
+        int bucket = home(key);
+        int previous = NIL;
+        for (int node = heads[bucket]; node != NIL; previous = node, node = next[node]) {
+            if (keys[node] == key) {
+                if (previous == NIL) {
+                    heads[bucket] = next[node];
+                } else {
+                    next[previous] = next[node];
+                }
+                next[node] = freeList;
+                freeList = node;
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int probeLength(long key) {
+        int probes = 0;
+        for (int node = heads[home(key)]; node != NIL; node = next[node]) {
+            probes++;
+            if (keys[node] == key) {
+                return probes;
+            }
+        }
+        // 空的 bucket 也需要檢查一次
+        return Math.max(probes, 1);
+    }
+
+    @Override
+    public String getName() {
+        return "Chaining";
+    }
+}
+
+/**
+ * 線性探測的開放定址法，刪除時以 backward shift 回填，不留墓碑
+ */
+class LinearProbingHashTable extends HashTable {
+    private final long[] keys;
+    private final int[] values;
+    private final boolean[] occupied;
+
+    public LinearProbingHashTable(HashFunction hashFunction, int capacity) {
+        super(hashFunction, capacity);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.occupied = new boolean[capacity];
+    }
+
+    @Override
+    public boolean put(long key, int value) {
+        int slot = home(key);
+        while (occupied[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return false;
+            }
+            slot = nextSlot(slot);
+        }
+        if (size == capacity - 1) {
+            // 至少保留一個空格，查詢不存在的 key 時才會停止
+            throw new IllegalStateException("linear probing table is full: " + capacity + " slots");
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        occupied[slot] = true;
+        size++;
+        return true;
+    }
+
+    @Override
+    public int get(long key, int missingValue) {
+        for (int slot = home(key); occupied[slot]; slot = nextSlot(slot)) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return missingValue;
+    }
+
+    @Override
+    public boolean remove(long key) {
+        int slot = home(key);
+        while (occupied[slot]) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return true;
+            }
+            slot = nextSlot(slot);
+        }
+        return false;
+    }
+
+    // 把後面原本因碰撞而往後放的項目往前移，填補刪除留下的空格
+    private void shiftBack(int hole) {
+        int slot = nextSlot(hole);
+        while (occupied[slot]) {
+            int target = home(keys[slot]);
+            // target 不在 (hole, slot] 的循環區間內時，才能移到 hole
+            boolean inRange = hole <= slot ? (hole < target && target <= slot) : (hole < target || target <= slot);
+            if (!inRange) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+            slot = nextSlot(slot);
+        }
+        occupied[hole] = false;
+    }
+
+    @Override
+    public int probeLength(long key) {
+        int probes = 1;
+        for (int slot = home(key); occupied[slot]; slot = nextSlot(slot), probes++) {
+            if (keys[slot] == key) {
+                return probes;
+            }
+        }
+        return probes;
+    }
+
+    private int nextSlot(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+    @Override
+    public String getName() {
+        return "Linear Probing";
+    }
+}
+
+/**
+ * Robin Hood 開放定址法：插入時離家較近的項目讓位給離家較遠的項目，使探測長度的變異變小；
+ * 查詢時一旦目前距離超過槽位中項目的距離即可確定不存在，刪除同樣以 backward shift 回填
+ */
+class RobinHoodHashTable extends HashTable {
+    private final long[] keys;
+    private final int[] values;
+    // 項目與其 home 的距離 + 1，0 代表空格
+    private final int[] distances;
+
+    public RobinHoodHashTable(HashFunction hashFunction, int capacity) {
+        super(hashFunction, capacity);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.distances = new int[capacity];
+    }
+
+    @Override
+    public boolean put(long key, int value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            return false;
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("robin hood table is full: " + capacity + " slots");
+        }
+        slot = home(key);
+        int distance = 1;
+        while (distances[slot] != 0) {
+            if (distances[slot] < distance) {
+                // 劫富濟貧：交換後繼續為被換出的項目找位置
+                long swappedKey = keys[slot];
+                int swappedValue = values[slot];
+                int swappedDistance = distances[slot];
+                keys[slot] = key;
+                values[slot] = value;
+                distances[slot] = distance;
+                key = swappedKey;
+                value = swappedValue;
+                distance = swappedDistance;
+            }
+            slot = nextSlot(slot);
+            distance++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        distances[slot] = distance;
+        size++;
+        return true;
+    }
+
+    @Override
+    public int get(long key, int missingValue) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : missingValue;
+    }
+
+    private int find(long key) {
+        int slot = home(key);
+        for (int distance = 1; distances[slot] >= distance; distance++) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = nextSlot(slot);
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean remove(long key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return false;
+        }
+        int slot = nextSlot(hole);
+        while (distances[slot] > 1) {
+            keys[hole] = keys[slot];
+            values[hole] = values[slot];
+            distances[hole] = distances[slot] - 1;
+            hole = slot;
+            slot = nextSlot(slot);
+        }
+        distances[hole] = 0;
+        size--;
+        return true;
+    }
+
+    @Override
+    public int probeLength(long key) {
+        int slot = home(key);
+        int distance = 1;
+        while (distances[slot] >= distance) {
+            if (keys[slot] == key) {
+                return distance;
+            }
+            slot = nextSlot(slot);
+            distance++;
+        }
+        return distance;
+    }
+
+    private int nextSlot(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+    @Override
+    public String getName() {
+        return "Robin Hood";
+    }
+}
@@ -0,0 +1,212 @@
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 雜湊表負載因子分析
+ * 以指定的 HashFunction 建立 chaining / linear probing / Robin Hood 雜湊表，
+ * 填到目標負載因子後量測插入、命中查詢、未命中查詢與刪除的平均時間，並統計探測長度分布
+ *
+ * key 在建構時一次產生 (不計入量測時間)：命中 key 的第 62 位元為 0，未命中 key 為 1，保證兩組不重疊
+ */
+final class HashTableAnalyzer {
+    static final double[] DEFAULT_LOAD_FACTORS = {0.25, 0.50, 0.75, 0.85, 0.95};
+
+    // 每個組合重複的回合數，只保留最後一回合 (前面的回合作為 JIT 暖機)
+    private static final int ROUNDS = 2;
+
+    enum TableType {
+        CHAINING, LINEAR_PROBING, ROBIN_HOOD;
+
+        HashTable create(HashFunction function, int capacity, int entries) {
+            switch (this) {
+                case CHAINING:
+                    return new ChainingHashTable(function, capacity, entries);
+                case LINEAR_PROBING:
+                    return new LinearProbingHashTable(function, capacity);
+                default:
+                    return new RobinHoodHashTable(function, capacity);
+            }
+        }
+    }
+
+    /**
+     * 探測長度分布 (檢查的槽位或節點數)
+     */
+    static final class ProbeStats {
+        final double mean;
+        final int p50, p99, max;
+
+        ProbeStats(int[] lengths) {
+            int[] sorted = lengths.clone();
+            Arrays.sort(sorted);
+            long total = 0;
+            for (int length : sorted) {
+                total += length;
+            }
+            this.mean = sorted.length == 0 ? 0 : (double) total / sorted.length;
+            this.p50 = percentile(sorted, 0.50);
+            this.p99 = percentile(sorted, 0.99);
+            this.max = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+
+        private static int percentile(int[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.2f/%d/%d/%d", mean, p50, p99, max);
+        }
+    }
+
+    /**
+     * 單一 (表格, Hash Function, 負載因子) 組合的結果，時間為每次操作的 ns
+     */
+    static final class Result {
+        final String tableName;
+        final String algorithmName;
+        final double loadFactor;
+        final int capacity;
+        final double insertNanos;
+        final double hitNanos;
+        final double missNanos;
+        final double deleteNanos;
+        final ProbeStats hitProbes;
+        final ProbeStats missProbes;
+        // 插入、查詢與刪除平均每次操作配置的位元組數 (不含建立表格)，不支援量測時為 NaN
+        final double bytesPerOperation;
+
+        Result(String tableName, String algorithmName, double loadFactor, int capacity,
+               double insertNanos, double hitNanos, double missNanos, double deleteNanos,
+               ProbeStats hitProbes, ProbeStats missProbes, double bytesPerOperation) {
+            this.tableName = tableName;
+            this.algorithmName = algorithmName;
+            this.loadFactor = loadFactor;
+            this.capacity = capacity;
+            this.insertNanos = insertNanos;
+            this.hitNanos = hitNanos;
+            this.missNanos = missNanos;
+            this.deleteNanos = deleteNanos;
+            this.hitProbes = hitProbes;
+            this.missProbes = missProbes;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+    }
+
+    private final int entries;
+    private final long[] keys;
+    private final long[] missingKeys;
+    private final long[] deleteOrder;
+    // 防止 JIT 消除查詢
+    private volatile long blackhole;
+
+    public HashTableAnalyzer(int entries) {
+        if (entries < 1) {
+            throw new IllegalArgumentException("entries must be positive: " + entries);
+        }
+        this.entries = entries;
+        SplittableRandom random = new SplittableRandom();
+        this.keys = new long[entries];
+        this.missingKeys = new long[entries];
+        for (int i = 0; i < entries; i++) {
+            keys[i] = random.nextLong() >>> 2;
+            missingKeys[i] = (random.nextLong() >>> 2) | (1L << 62);
+        }
+        // 刪除順序與插入順序無關
+        this.deleteOrder = keys.clone();
+        for (int i = entries - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = deleteOrder[i];
+            deleteOrder[i] = deleteOrder[j];
+            deleteOrder[j] = swap;
+        }
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public Result analyze(HashFunction function, TableType type, double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1) {
+            throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+        }
+        int capacity = (int) Math.ceil(entries / loadFactor);
+        Result result = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            result = run(type.create(function, capacity, entries), function);
+        }
+        return result;
+    }
+
+    /**
+     * 以負載因子建立並填滿表格後，GC 仍存活的堆積大小 (與 Hash Function 無關)；會觸發 GC，不可放在計時區間內
+     */
+    public long retainedBytes(HashFunction function, TableType type, double loadFactor) {
+        int capacity = (int) Math.ceil(entries / loadFactor);
+        long baseline = MemoryMeter.usedHeapAfterGc();
+        HashTable table = type.create(function, capacity, entries);
+        for (int i = 0; i < entries; i++) {
+            table.put(keys[i], i);
+        }
+        long retained = Math.max(0, MemoryMeter.usedHeapAfterGc() - baseline);
+        Reference.reachabilityFence(table);
+        return retained;
+    }
+
+    private Result run(HashTable table, HashFunction function) {
+        long checksum = 0;
+
+        // 配置量只計入計時的操作，探測長度統計用的陣列不算在內
+        long allocatedBefore = MemoryMeter.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < entries; i++) {
+            table.put(keys[i], i);
+        }
+        long insertNanos = System.nanoTime() - start;
+        int inserted = table.size();
+
+        start = System.nanoTime();
+        for (long key : keys) {
+            checksum += table.get(key, -1);
+        }
+        long hitNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (long key : missingKeys) {
+            checksum += table.get(key, -1);
+        }
+        long missNanos = System.nanoTime() - start;
+        long allocated = MemoryMeter.currentThreadAllocatedBytes() - allocatedBefore;
+
+        // 探測長度另外統計，不影響上面的計時
+        int[] hitLengths = new int[entries];
+        int[] missLengths = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            hitLengths[i] = table.probeLength(keys[i]);
+            missLengths[i] = table.probeLength(missingKeys[i]);
+        }
+
+        allocatedBefore = MemoryMeter.currentThreadAllocatedBytes();
+        start = System.nanoTime();
+        for (long key : deleteOrder) {
+            checksum += table.remove(key) ? 1 : 0;
+        }
+        long deleteNanos = System.nanoTime() - start;
+        allocated += MemoryMeter.currentThreadAllocatedBytes() - allocatedBefore;
+        if (table.size() != 0) {
+            throw new IllegalStateException(table.getName() + " still holds " + table.size() + " entries after delete");
+        }
+        blackhole = checksum;
+
+        return new Result(table.getName(), function.getAlgorithmName(), (double) inserted / table.capacity(),
+            table.capacity(), (double) insertNanos / entries, (double) hitNanos / entries,
+            (double) missNanos / entries, (double) deleteNanos / entries,
+            new ProbeStats(hitLengths), new ProbeStats(missLengths),
+            MemoryMeter.isAllocationSupported() ? (double) allocated / (4L * entries) : Double.NaN);
+    }
+}
@@ -0,0 +1,144 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 量測一段程式的記憶體行為：目前執行緒配置的位元組數 (HotSpot 的 com.sun.management.ThreadMXBean)、
+ * 期間發生的 GC 次數與累計暫停時間，以及 GC 後仍存活的堆積 (用來估計資料結構填滿後的保留大小)
+ *
+ * 用法：MemoryMeter meter = MemoryMeter.start(); ...; MemoryMeter.Sample sample = meter.stop(operations);
+ * JVM 不支援執行緒配置計數時，配置相關的數值為 -1
+ */
+final class MemoryMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    // Serial / Parallel 的 full GC 會在緻密的前段保留少量死物件不搬移 (dead wood)，每 4 次才完整壓縮一次
+    // (MarkSweepAlwaysCompactCount)，因此連續 GC 數次並取最小值
+    private static final int GC_ATTEMPTS = 4;
+
+    /**
+     * 一段量測的結果
+     */
+    static final class Sample {
+        final long allocatedBytes;
+        final long operations;
+        final long gcCount;
+        final long gcMillis;
+
+        Sample(long allocatedBytes, long operations, long gcCount, long gcMillis) {
+            this.allocatedBytes = allocatedBytes;
+            this.operations = operations;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        double bytesPerOperation() {
+            return allocatedBytes < 0 || operations <= 0 ? Double.NaN : (double) allocatedBytes / operations;
+        }
+
+        String formatBytesPerOperation() {
+            double perOperation = bytesPerOperation();
+            return Double.isNaN(perOperation) ? "n/a" : formatBytes(perOperation);
+        }
+    }
+
+    private final long startAllocated;
+    private final long startGcCount;
+    private final long startGcMillis;
+
+    private MemoryMeter() {
+        long[] gc = gcTotals();
+        this.startGcCount = gc[0];
+        this.startGcMillis = gc[1];
+        // 最後才讀取配置量，讀取 GC 統計本身的配置不計入
+        this.startAllocated = currentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+            if (hotspot.isThreadAllocatedMemorySupported()) {
+                if (!hotspot.isThreadAllocatedMemoryEnabled()) {
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                }
+                return hotspot;
+            }
+        }
+        return null;
+    }
+
+    static MemoryMeter start() {
+        return new MemoryMeter();
+    }
+
+    /**
+     * 結束量測；start 與 stop 必須在同一個執行緒呼叫，配置量只計入該執行緒
+     */
+    Sample stop(long operations) {
+        long allocated = currentThreadAllocatedBytes();
+        long[] gc = gcTotals();
+        return new Sample(allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated,
+            operations, gc[0] - startGcCount, gc[1] - startGcMillis);
+    }
+
+    static boolean isAllocationSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * 目前執行緒累計配置的位元組數，不支援時為 -1
+     */
+    static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 指定執行緒累計配置的位元組數，不支援或執行緒已結束時為 -1
+     */
+    static long threadAllocatedBytes(Thread thread) {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(thread.getId());
+    }
+
+    /**
+     * 所有收集器累計的 GC 次數與時間 (ms)
+     */
+    static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // 不支援的收集器回傳 -1
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    /**
+     * 連續 System.gc() 數次，回傳期間最小的已使用堆積，即仍存活的位元組數
+     * 兩次呼叫之間新建並保持可達的資料結構大小即為其保留堆積；
+     * 會觸發 GC，不可放在計時或 GC 統計的區間內
+     */
+    static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < GC_ATTEMPTS; attempt++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    static String formatBytes(double bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024) {
+            return bytes == Math.rint(bytes) ? String.format("%d B", (long) bytes) : String.format("%.1f B", bytes);
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KiB", bytes / 1024);
+        }
+        return String.format("%.1f MiB", bytes / (1024 * 1024));
+    }
+}
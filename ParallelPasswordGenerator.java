@@ -0,0 +1,97 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * 平行密碼產生器
+ * 以 Fork/Join 將大量產生的工作切分到多個核心，
+ * 每個工作執行緒持有自己的 HashFunction，並配上獨立播種的 DRBG (與 ConcurrentPasswordGenerator 相同)，
+ * 因此不會在同一個 CSPRNG 的鎖上互相等待；預設的 NativePRNG 即使每個執行緒一個實例也共用同一把全域鎖
+ */
+class ParallelPasswordGenerator {
+    // 每個葉節點工作至少產生的密碼數量，太小會讓切分成本超過產生成本
+    private static final int DEFAULT_THRESHOLD = 2048;
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<HashFunction> workerFunctions;
+    // 第一個建立的實例提供，不必為了名稱另外建立並播種一個實例
+    private volatile String algorithmName;
+    private final int threshold;
+
+    public ParallelPasswordGenerator(Supplier<? extends HashFunction> factory) {
+        this(factory, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelPasswordGenerator(Supplier<? extends HashFunction> factory, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+        this.workerFunctions = ThreadLocal.withInitial(() -> newWorkerFunction(factory));
+    }
+
+    private HashFunction newWorkerFunction(Supplier<? extends HashFunction> factory) {
+        HashFunction function = factory.get();
+        function.useSecureRandom(ConcurrentPasswordGenerator.newThreadRandom());
+        if (algorithmName == null) {
+            algorithmName = function.getAlgorithmName();
+        }
+        return function;
+    }
+
+    /**
+     * 平行產生 count 組密碼，結果依序合併到同一個陣列
+     */
+    public String[] generate(String charSet, int length, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        String[] passwords = new String[count];
+        pool.invoke(new GenerateTask(charSet, length, passwords, 0, count));
+        return passwords;
+    }
+
+    /**
+     * 尚未產生過密碼時，會在呼叫端執行緒建立它自己的實例來取得名稱
+     */
+    public String getAlgorithmName() {
+        String name = algorithmName;
+        return name != null ? name : workerFunctions.get().getAlgorithmName();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    private class GenerateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String charSet;
+        private final int length;
+        private final String[] passwords;
+        private final int from, to;
+
+        GenerateTask(String charSet, int length, String[] passwords, int from, int to) {
+            this.charSet = charSet;
+            this.length = length;
+            this.passwords = passwords;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int count = to - from;
+            if (count <= threshold) {
+                // 每個執行緒只使用自己的 HashFunction，各段寫入互不重疊的範圍
+                String[] part = workerFunctions.get().generateBatch(charSet, length, count);
+                System.arraycopy(part, 0, passwords, from, count);
+                return;
+            }
+            int mid = from + count / 2;
+            invokeAll(new GenerateTask(charSet, length, passwords, from, mid),
+                      new GenerateTask(charSet, length, passwords, mid, to));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 命令列批量匯出工具
+ * 不開啟 GUI，直接把大量密碼串流寫入檔案 (每行一組)：
+ * 密碼產生到重複使用的 char[]，以 ASCII 編碼進 direct ByteBuffer，再經由 FileChannel 寫出，
+ * 不建立任何 String，記憶體用量與產生數量無關
+ *
+ * 用法: java PasswordExporter --count 1000000 --length 16 --charset ULN --algorithm universal --random drbg-hmac --output passwords.txt
+ */
+public class PasswordExporter {
+    // 寫出緩衝區大小
+    private static final int BUFFER_SIZE = 1 << 20;
+    // BLOOM 模式的目標誤判率
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.001;
+    // 連續重複超過此次數視為密碼空間已用盡
+    private static final int MAX_CONSECUTIVE_DUPLICATES = 1000;
+
+    private long count = 1000;
+    private int length = 16;
+    private String charSetFlags = "ULN";
+    private boolean excludeAmbiguous = false;
+    private String algorithm = "universal";
+    private SecureRandomProvider randomProvider = SecureRandomProvider.DEFAULT;
+    private Path output;
+    private UniquePasswordFilter.Mode uniqueMode;
+
+    public static void main(String[] args) {
+        PasswordExporter exporter = new PasswordExporter();
+        try {
+            exporter.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+
+        try {
+            long startTime = System.nanoTime();
+            exporter.export();
+            double elapsedSec = (System.nanoTime() - startTime) / 1_000_000_000.0;
+            System.err.printf("Wrote %d passwords to %s in %.2f s (%.0f passwords/s)%n",
+                exporter.count, exporter.output, elapsedSec, exporter.count / elapsedSec);
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--exclude-ambiguous")) {
+                excludeAmbiguous = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--count":
+                    count = Long.parseLong(value);
+                    break;
+                case "--length":
+                    length = Integer.parseInt(value);
+                    break;
+                case "--charset":
+                    charSetFlags = value.toUpperCase(Locale.ROOT);
+                    break;
+                case "--algorithm":
+                    algorithm = value.toLowerCase(Locale.ROOT);
+                    break;
+                case "--random":
+                    randomProvider = SecureRandomProvider.fromOptionName(value);
+                    break;
+                case "--output":
+                    output = Paths.get(value);
+                    break;
+                case "--unique":
+                    uniqueMode = parseUniqueMode(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (output == null) {
+            throw new IllegalArgumentException("--output is required");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("--count must not be negative");
+        }
+        if (length < 1 || length >= BUFFER_SIZE) {
+            throw new IllegalArgumentException("--length must be between 1 and " + (BUFFER_SIZE - 1));
+        }
+        // 提早驗證，錯誤時顯示用法
+        parseCharacterSet(charSetFlags);
+        try {
+            createHashFunction(algorithm, randomProvider);
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 依 U(大寫) L(小寫) N(數字) S(符號) 旗標取得預先編譯的字符集
+     */
+    static CharacterSet parseCharacterSet(String flags) {
+        for (char flag : flags.toCharArray()) {
+            if ("ULNS".indexOf(flag) < 0) {
+                throw new IllegalArgumentException("Unknown charset flag '" + flag + "', use U, L, N, S");
+            }
+        }
+        CharacterSet charSet = CharacterSet.of(flags.indexOf('U') >= 0, flags.indexOf('L') >= 0,
+            flags.indexOf('N') >= 0, flags.indexOf('S') >= 0);
+        if (charSet.isEmpty()) {
+            throw new IllegalArgumentException("Charset must contain at least one of U, L, N, S");
+        }
+        return charSet;
+    }
+
+    private static UniquePasswordFilter.Mode parseUniqueMode(String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "exact":
+                return UniquePasswordFilter.Mode.EXACT;
+            case "bloom":
+                return UniquePasswordFilter.Mode.BLOOM;
+            default:
+                throw new IllegalArgumentException("Unknown uniqueness mode '" + value + "', use exact or bloom");
+        }
+    }
+
+    static HashFunction createHashFunction(String name) {
+        return createHashFunction(name, SecureRandomProvider.DEFAULT);
+    }
+
+    static HashFunction createHashFunction(String name, SecureRandomProvider provider) {
+        switch (name) {
+            case "simple":
+                return new SimpleHashFunction(provider);
+            case "multiplication":
+                return new MultiplicationHashFunction(provider);
+            case "universal":
+                return new UniversalHashFunction(provider);
+            case "mersenne":
+                return new MersennePrimeHashFunction(provider);
+            case "multiply-shift":
+                return new MultiplyShiftHashFunction(provider);
+            case "tabulation":
+                return new TabulationHashFunction(provider);
+            case "rejection":
+                return new RejectionSamplingHashFunction(provider);
+            case "chacha20":
+                return new ChaCha20HashFunction(provider);
+            default:
+                throw new IllegalArgumentException("Unknown algorithm '" + name
+                    + "', use simple, multiplication, universal, mersenne, multiply-shift, tabulation, rejection"
+                    + " or chacha20");
+        }
+    }
+
+    private void export() throws IOException {
+        CharacterSet charSet = parseCharacterSet(charSetFlags);
+        if (excludeAmbiguous) {
+            charSet = charSet.withoutAmbiguous();
+        }
+        HashFunction hashFunction = createHashFunction(algorithm, randomProvider);
+        UniquePasswordFilter uniqueFilter = uniqueMode == null ? null
+            : new UniquePasswordFilter(uniqueMode, count, BLOOM_FALSE_POSITIVE_RATE);
+
+        char[] password = new char[length];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long n = 0; n < count; n++) {
+                if (buffer.remaining() < length + 1) {
+                    flush(channel, buffer);
+                }
+                hashFunction.generatePassword(charSet, password, 0, length);
+                if (uniqueFilter != null) {
+                    int duplicates = 0;
+                    while (!uniqueFilter.add(password, 0, length)) {
+                        if (++duplicates >= MAX_CONSECUTIVE_DUPLICATES) {
+                            throw new IOException("Password space exhausted after " + n
+                                + " unique passwords, use a longer length or larger charset");
+                        }
+                        hashFunction.generatePassword(charSet, password, 0, length);
+                    }
+                }
+                // 字符集皆為 ASCII，直接截成單一位元組
+                for (int i = 0; i < length; i++) {
+                    buffer.put((byte) password[i]);
+                }
+                buffer.put((byte) '\n');
+            }
+            flush(channel, buffer);
+            if (uniqueFilter != null) {
+                System.err.println(uniqueFilter);
+            }
+        } finally {
+            Arrays.fill(password, '\0');
+            // 清除緩衝區中殘留的密碼
+            buffer.clear();
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) 0);
+            }
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java PasswordExporter --output <file> [options]");
+        System.err.println("  --count <n>           number of passwords (default 1000)");
+        System.err.println("  --length <n>          password length (default 16)");
+        System.err.println("  --charset <flags>     U=uppercase L=lowercase N=numbers S=symbols (default ULN)");
+        System.err.println("  --exclude-ambiguous   drop look-alike characters such as 0/O and 1/l/I");
+        System.err.println("  --algorithm <name>    simple | multiplication | universal | mersenne |");
+        System.err.println("                        multiply-shift | tabulation | rejection | chacha20");
+        System.err.println("                        (default universal)");
+        System.err.println("  --random <provider>   default | native | native-nonblocking | drbg-hash |");
+        System.err.println("                        drbg-hmac | drbg-ctr | sha1prng (default: platform default)");
+        System.err.println("  --unique <mode>       never repeat a password: exact (64-bit fingerprint set)");
+        System.err.println("                        or bloom (smaller, rejects ~0.1% of unique passwords)");
+    }
+}
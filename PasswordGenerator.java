@@ -24,20 +24,14 @@ public class PasswordGenerator extends JFrame {
     private JButton generateButton, copyButton, clearHistoryButton;
     
     // 資料結構 - 密碼歷史紀錄
-    private List<String> passwordHistory;
-    private Queue<String> recentPasswords;
+    private PasswordHistory passwordHistory;
     private static final int MAX_RECENT_PASSWORDS = 10;
+    private static final int MAX_HISTORY_ENTRIES = 100000;
     
     // Hash Functions for different generation strategies
     private HashFunction[] hashFunctions;
     private SecureRandom secureRandom;
     
-    // 字符集定義
-    private static final String UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-    private static final String LOWERCASE = "abcdefghijklmnopqrstuvwxyz";
-    private static final String NUMBERS = "0123456789";
-    private static final String SYMBOLS = "!@#$%^&*()-_=+[]{}|;:,.<>?";
-    
     public PasswordGenerator() {
         initializeDataStructures();
         initializeGUI();
@@ -49,18 +43,18 @@ public class PasswordGenerator extends JFrame {
     }
     
     private void initializeDataStructures() {
-        // 使用 ArrayList 儲存完整歷史
-        passwordHistory = new ArrayList<>();
-        
-        // 使用 LinkedList 實作的 Queue 儲存最近密碼
-        recentPasswords = new LinkedList<>();
+        // 以位元組 arena 儲存歷史紀錄，超過上限淘汰最舊的；
+        // 最近密碼直接取其最新幾筆的 O(1) 檢視
+        passwordHistory = new PasswordHistory(MAX_HISTORY_ENTRIES);
         
         // 初始化不同的 Hash Function
-        hashFunctions = new HashFunction[]{
-            new SimpleHashFunction(),
-            new MultiplicationHashFunction(),
-            new UniversalHashFunction()
-        };
+        hashFunctions = HashFunction.allHashFunctions();
+        
+        // 由背景亂數池提供亂數，避免 EDT 同步等待 SecureRandom
+        EntropyPool entropyPool = EntropyPool.shared();
+        for (HashFunction hashFunction : hashFunctions) {
+            hashFunction.useEntropyPool(entropyPool);
+        }
         
         secureRandom = new SecureRandom();
     }
@@ -151,7 +145,11 @@ public class PasswordGenerator extends JFrame {
         hashFunctionBox = new JComboBox<>(new String[]{
             "簡單 Hash Function",
             "乘法 Hash Function", 
-            "通用 Hash Function"
+            "通用 Hash Function",
+            "Mersenne 質數 Hash Function",
+            "乘法位移 Hash Function",
+            "表格 Hash Function",
+            "ChaCha20 串流加密 (CSPRNG)"
         });
         
         sgbc.gridx = 0; sgbc.gridy = 5; sgbc.gridwidth = 1;
@@ -242,7 +240,7 @@ public class PasswordGenerator extends JFrame {
     }
     
     private void generatePassword() {
-        String charSet = buildCharacterSet();
+        CharacterSet charSet = buildCharacterSet();
         if (charSet.isEmpty()) {
             JOptionPane.showMessageDialog(this, "請至少選擇一種字符類型！", 
                 "錯誤", JOptionPane.ERROR_MESSAGE);
@@ -257,30 +255,22 @@ public class PasswordGenerator extends JFrame {
         passwordField.setText(password);
         copyButton.setEnabled(true);
         
-        // 更新歷史紀錄 (ArrayList)
+        // 更新歷史紀錄 (最近密碼檢視會自動跟著更新)
         passwordHistory.add(password);
         
-        // 更新最近密碼佇列 (Queue)
-        if (recentPasswords.size() >= MAX_RECENT_PASSWORDS) {
-            recentPasswords.poll(); // 移除最舊的
-        }
-        recentPasswords.offer(password);
-        
         updateHistoryDisplay();
         evaluatePasswordStrength(password);
     }
     
-    private String buildCharacterSet() {
-        StringBuilder charSet = new StringBuilder();
-        if (uppercaseBox.isSelected()) charSet.append(UPPERCASE);
-        if (lowercaseBox.isSelected()) charSet.append(LOWERCASE);
-        if (numbersBox.isSelected()) charSet.append(NUMBERS);
-        if (symbolsBox.isSelected()) charSet.append(SYMBOLS);
-        return charSet.toString();
+    private CharacterSet buildCharacterSet() {
+        // 15 種勾選組合皆已預先編譯並快取
+        return CharacterSet.of(uppercaseBox.isSelected(), lowercaseBox.isSelected(),
+            numbersBox.isSelected(), symbolsBox.isSelected());
     }
     
     private void updateHistoryDisplay() {
         StringBuilder display = new StringBuilder();
+        List<String> recentPasswords = passwordHistory.recent(MAX_RECENT_PASSWORDS);
         display.append("=== 最近 ").append(recentPasswords.size()).append(" 個密碼 ===\n");
         
         int count = 1;
@@ -288,34 +278,16 @@ public class PasswordGenerator extends JFrame {
             display.append(count++).append(". ").append(password).append("\n");
         }
         
-        display.append("\n=== 總共產生了 ").append(passwordHistory.size()).append(" 個密碼 ===");
+        display.append("\n=== 總共產生了 ").append(passwordHistory.getTotalAdded()).append(" 個密碼 ===");
         
         historyArea.setText(display.toString());
         historyArea.setCaretPosition(0);
     }
     
     private void evaluatePasswordStrength(String password) {
-        int score = 0;
+        int score = PasswordStrengthScorer.score(password);
         String feedback = "";
         
-        // 長度評分
-        if (password.length() >= 12) score += 25;
-        else if (password.length() >= 8) score += 15;
-        else score += 5;
-        
-        // 字符多樣性評分
-        if (password.matches(".*[A-Z].*")) score += 15;
-        if (password.matches(".*[a-z].*")) score += 15;
-        if (password.matches(".*[0-9].*")) score += 15;
-        if (password.matches(".*[!@#$%^&*()\\-_=+\\[\\]{}|;:,.<>?].*")) score += 20;
-        
-        // 重複字符檢查
-        Set<Character> uniqueChars = new HashSet<>();
-        for (char c : password.toCharArray()) {
-            uniqueChars.add(c);
-        }
-        if (uniqueChars.size() > password.length() * 0.8) score += 10;
-        
         // 更新顯示
         strengthBar.setValue(Math.min(score, 100));
         strengthBar.setString(score + "%");
@@ -351,7 +323,6 @@ public class PasswordGenerator extends JFrame {
     
     private void clearHistory() {
         passwordHistory.clear();
-        recentPasswords.clear();
         updateHistoryDisplay();
         
         JOptionPane.showMessageDialog(this, "歷史紀錄已清除！", 
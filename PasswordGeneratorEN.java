@@ -24,20 +24,14 @@ public class PasswordGeneratorEN extends JFrame {
     private JButton generateButton, copyButton, clearHistoryButton;
     
     // Data Structures - Password History
-    private List<String> passwordHistory;
-    private Queue<String> recentPasswords;
+    private PasswordHistory passwordHistory;
     private static final int MAX_RECENT_PASSWORDS = 10;
+    private static final int MAX_HISTORY_ENTRIES = 100000;
     
     // Hash Functions for different generation strategies
     private HashFunction[] hashFunctions;
     private SecureRandom secureRandom;
     
-    // Character sets
-    private static final String UPPERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-    private static final String LOWERCASE = "abcdefghijklmnopqrstuvwxyz";
-    private static final String NUMBERS = "0123456789";
-    private static final String SYMBOLS = "!@#$%^&*()-_=+[]{}|;:,.<>?";
-    
     public PasswordGeneratorEN() {
         initializeDataStructures();
         initializeGUI();
@@ -49,18 +43,18 @@ public class PasswordGeneratorEN extends JFrame {
     }
     
     private void initializeDataStructures() {
-        // Using ArrayList for complete history
-        passwordHistory = new ArrayList<>();
-        
-        // Using LinkedList as Queue for recent passwords
-        recentPasswords = new LinkedList<>();
+        // Compact byte-arena history, oldest entries evicted past the cap;
+        // the recent passwords are an O(1) view over its newest entries
+        passwordHistory = new PasswordHistory(MAX_HISTORY_ENTRIES);
         
         // Initialize different Hash Functions
-        hashFunctions = new HashFunction[]{
-            new SimpleHashFunction(),
-            new MultiplicationHashFunction(),
-            new UniversalHashFunction()
-        };
+        hashFunctions = HashFunction.allHashFunctions();
+        
+        // Draw randomness from the background pool so the EDT never waits on SecureRandom
+        EntropyPool entropyPool = EntropyPool.shared();
+        for (HashFunction hashFunction : hashFunctions) {
+            hashFunction.useEntropyPool(entropyPool);
+        }
         
         secureRandom = new SecureRandom();
     }
@@ -151,7 +145,11 @@ public class PasswordGeneratorEN extends JFrame {
         hashFunctionBox = new JComboBox<>(new String[]{
             "Simple Hash Function",
             "Multiplication Hash Function", 
-            "Universal Hash Function"
+            "Universal Hash Function",
+            "Mersenne Prime Hash Function",
+            "Multiply-Shift Hash Function",
+            "Tabulation Hash Function",
+            "ChaCha20 Keystream (CSPRNG)"
         });
         
         sgbc.gridx = 0; sgbc.gridy = 5; sgbc.gridwidth = 1;
@@ -242,7 +240,7 @@ public class PasswordGeneratorEN extends JFrame {
     }
     
     private void generatePassword() {
-        String charSet = buildCharacterSet();
+        CharacterSet charSet = buildCharacterSet();
         if (charSet.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please select at least one character type!", 
                 "Error", JOptionPane.ERROR_MESSAGE);
@@ -257,30 +255,22 @@ public class PasswordGeneratorEN extends JFrame {
         passwordField.setText(password);
         copyButton.setEnabled(true);
         
-        // Update history (ArrayList)
+        // Update history (the recent view follows automatically)
         passwordHistory.add(password);
         
-        // Update recent passwords queue
-        if (recentPasswords.size() >= MAX_RECENT_PASSWORDS) {
-            recentPasswords.poll(); // Remove oldest
-        }
-        recentPasswords.offer(password);
-        
         updateHistoryDisplay();
         evaluatePasswordStrength(password);
     }
     
-    private String buildCharacterSet() {
-        StringBuilder charSet = new StringBuilder();
-        if (uppercaseBox.isSelected()) charSet.append(UPPERCASE);
-        if (lowercaseBox.isSelected()) charSet.append(LOWERCASE);
-        if (numbersBox.isSelected()) charSet.append(NUMBERS);
-        if (symbolsBox.isSelected()) charSet.append(SYMBOLS);
-        return charSet.toString();
+    private CharacterSet buildCharacterSet() {
+        // All 15 checkbox combinations are precompiled and cached
+        return CharacterSet.of(uppercaseBox.isSelected(), lowercaseBox.isSelected(),
+            numbersBox.isSelected(), symbolsBox.isSelected());
     }
     
     private void updateHistoryDisplay() {
         StringBuilder display = new StringBuilder();
+        List<String> recentPasswords = passwordHistory.recent(MAX_RECENT_PASSWORDS);
         display.append("=== Recent ").append(recentPasswords.size()).append(" Passwords ===\n");
         
         int count = 1;
@@ -288,34 +278,16 @@ public class PasswordGeneratorEN extends JFrame {
             display.append(count++).append(". ").append(password).append("\n");
         }
         
-        display.append("\n=== Total Generated: ").append(passwordHistory.size()).append(" Passwords ===");
+        display.append("\n=== Total Generated: ").append(passwordHistory.getTotalAdded()).append(" Passwords ===");
         
         historyArea.setText(display.toString());
         historyArea.setCaretPosition(0);
     }
     
     private void evaluatePasswordStrength(String password) {
-        int score = 0;
+        int score = PasswordStrengthScorer.score(password);
         String feedback = "";
         
-        // Length scoring
-        if (password.length() >= 12) score += 25;
-        else if (password.length() >= 8) score += 15;
-        else score += 5;
-        
-        // Character diversity scoring
-        if (password.matches(".*[A-Z].*")) score += 15;
-        if (password.matches(".*[a-z].*")) score += 15;
-        if (password.matches(".*[0-9].*")) score += 15;
-        if (password.matches(".*[!@#$%^&*()\\-_=+\\[\\]{}|;:,.<>?].*")) score += 20;
-        
-        // Duplicate character check
-        Set<Character> uniqueChars = new HashSet<>();
-        for (char c : password.toCharArray()) {
-            uniqueChars.add(c);
-        }
-        if (uniqueChars.size() > password.length() * 0.8) score += 10;
-        
         // Update display
         strengthBar.setValue(Math.min(score, 100));
         strengthBar.setString(score + "%");
@@ -351,7 +323,6 @@ public class PasswordGeneratorEN extends JFrame {
     
     private void clearHistory() {
         passwordHistory.clear();
-        recentPasswords.clear();
         updateHistoryDisplay();
         
         JOptionPane.showMessageDialog(this, "History cleared!", 
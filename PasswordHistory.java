@@ -0,0 +1,199 @@
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 精簡的密碼歷史紀錄
+ * 所有密碼以 Latin-1 位元組連續存放在同一個可成長的 byte arena，
+ * 另以 int 陣列記錄每筆的起點與長度 (環狀索引)，不再為每組密碼建立 String 物件與節點。
+ * 超過上限時自動淘汰最舊的紀錄，取得最近 N 筆為 O(1)
+ */
+final class PasswordHistory {
+    private static final int INITIAL_ARENA_SIZE = 1024;
+    private static final int INITIAL_INDEX_SIZE = 16;
+
+    private final int maxEntries;
+
+    private byte[] arena = new byte[INITIAL_ARENA_SIZE];
+    private int arenaEnd;
+
+    // 環狀索引：第 i 舊的紀錄位於 (head + i) % starts.length
+    private int[] starts = new int[INITIAL_INDEX_SIZE];
+    private int[] lengths = new int[INITIAL_INDEX_SIZE];
+    private int head;
+    private int size;
+
+    private long totalAdded;
+
+    /**
+     * @param maxEntries 最多保留的紀錄數，超過時淘汰最舊的
+     */
+    public PasswordHistory(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public void add(CharSequence password) {
+        int length = password.length();
+        for (int i = 0; i < length; i++) {
+            checkLatin1(password.charAt(i));
+        }
+        prepareAppend(length);
+        for (int i = 0; i < length; i++) {
+            arena[arenaEnd + i] = (byte) password.charAt(i);
+        }
+        commitAppend(length);
+    }
+
+    public void add(char[] password, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            checkLatin1(password[offset + i]);
+        }
+        prepareAppend(length);
+        for (int i = 0; i < length; i++) {
+            arena[arenaEnd + i] = (byte) password[offset + i];
+        }
+        commitAppend(length);
+    }
+
+    /**
+     * 依加入順序取得第 index 筆 (0 為目前保留的最舊紀錄)
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+        }
+        int slot = slot(index);
+        return new String(arena, starts[slot], lengths[slot], StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 最近 n 筆的唯讀檢視 (由舊到新)，建立與存取皆為 O(1)，內容在呼叫 get 時才解碼
+     */
+    public List<String> recent(int n) {
+        int count = Math.min(n, size);
+        int first = size - count;
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("index=" + index + ", size=" + count);
+                }
+                return PasswordHistory.this.get(first + index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /** 目前保留的紀錄數 */
+    public int size() {
+        return size;
+    }
+
+    /** 從建立 (或上次 clear) 以來加入的總數，包含已淘汰的紀錄 */
+    public long getTotalAdded() {
+        return totalAdded;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /** 目前佔用的陣列大小 (bytes)，不含物件標頭 */
+    public long getFootprintBytes() {
+        return arena.length + (long) (starts.length + lengths.length) * Integer.BYTES;
+    }
+
+    /**
+     * 清除全部紀錄，並將 arena 中的密碼內容歸零
+     */
+    public void clear() {
+        Arrays.fill(arena, 0, arenaEnd, (byte) 0);
+        arenaEnd = 0;
+        head = 0;
+        size = 0;
+        totalAdded = 0;
+    }
+
+    private void prepareAppend(int length) {
+        if (size == maxEntries) {
+            evictOldest();
+        }
+        if (size == starts.length) {
+            growIndex();
+        }
+        if (arenaEnd + length > arena.length) {
+            makeRoom(length);
+        }
+    }
+
+    private void commitAppend(int length) {
+        int slot = slot(size);
+        starts[slot] = arenaEnd;
+        lengths[slot] = length;
+        arenaEnd += length;
+        size++;
+        totalAdded++;
+    }
+
+    private void evictOldest() {
+        head = (head + 1) % starts.length;
+        size--;
+    }
+
+    private void growIndex() {
+        int newLength = (int) Math.min((long) starts.length * 2, maxEntries);
+        int[] newStarts = new int[newLength];
+        int[] newLengths = new int[newLength];
+        for (int i = 0; i < size; i++) {
+            newStarts[i] = starts[slot(i)];
+            newLengths[i] = lengths[slot(i)];
+        }
+        starts = newStarts;
+        lengths = newLengths;
+        head = 0;
+    }
+
+    /**
+     * arena 空間不足時：已淘汰的前段夠大就往前壓縮，否則擴充容量
+     */
+    private void makeRoom(int length) {
+        int liveStart = size == 0 ? arenaEnd : starts[head];
+        int liveBytes = arenaEnd - liveStart;
+        if (liveStart >= arena.length / 2 && liveBytes + length <= arena.length) {
+            System.arraycopy(arena, liveStart, arena, 0, liveBytes);
+            // 被搬移後殘留的舊密碼歸零
+            Arrays.fill(arena, liveBytes, arenaEnd, (byte) 0);
+            for (int i = 0; i < size; i++) {
+                starts[slot(i)] -= liveStart;
+            }
+            arenaEnd = liveBytes;
+        } else {
+            long newLength = Math.max((long) arena.length * 2, (long) arenaEnd + length);
+            if (newLength > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("password history arena exceeds 2 GB");
+            }
+            byte[] newArena = Arrays.copyOf(arena, (int) newLength);
+            Arrays.fill(arena, (byte) 0);
+            arena = newArena;
+        }
+    }
+
+    private int slot(int index) {
+        return (head + index) % starts.length;
+    }
+
+    private static void checkLatin1(char c) {
+        if (c > 0xFF) {
+            throw new IllegalArgumentException("password history only stores Latin-1 characters: U+"
+                + Integer.toHexString(c));
+        }
+    }
+}
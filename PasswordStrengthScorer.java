@@ -0,0 +1,99 @@
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * 密碼強度評分器
+ * 單次掃描完成所有字符分類 (查表)，以位元集合計算不重複字符數，不使用正規表示式也不裝箱，
+ * 評分規則與 GUI 原本的 evaluatePasswordStrength 完全相同 (0-100 分)：
+ * 長度 25/15/5 分、大寫 15、小寫 15、數字 15、符號 20、不重複字符超過 80% 再加 10 分
+ */
+final class PasswordStrengthScorer {
+    private static final int UPPER = 1;
+    private static final int LOWER = 2;
+    private static final int DIGIT = 4;
+    private static final int SYMBOL = 8;
+
+    // ASCII 字符分類表
+    private static final byte[] CLASS_TABLE = new byte[128];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) CLASS_TABLE[c] = UPPER;
+        for (char c = 'a'; c <= 'z'; c++) CLASS_TABLE[c] = LOWER;
+        for (char c = '0'; c <= '9'; c++) CLASS_TABLE[c] = DIGIT;
+        for (char c : CharacterSet.SYMBOLS.toCharArray()) CLASS_TABLE[c] = SYMBOL;
+    }
+
+    private PasswordStrengthScorer() {
+    }
+
+    public static int score(CharSequence password) {
+        int length = password.length();
+        int classes = 0;
+        long seenLow = 0, seenHigh = 0;
+        int unique = 0;
+        boolean lineTerminator = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c < 128) {
+                classes |= CLASS_TABLE[c];
+                // 以兩個 long 作為 ASCII 位元集合
+                if (c < 64) {
+                    long bit = 1L << c;
+                    if ((seenLow & bit) == 0) { seenLow |= bit; unique++; }
+                } else {
+                    long bit = 1L << (c - 64);
+                    if ((seenHigh & bit) == 0) { seenHigh |= bit; unique++; }
+                }
+                lineTerminator |= c == '\n' || c == '\r';
+            } else {
+                lineTerminator |= c == '\u0085' || c == '\u2028' || c == '\u2029';
+                if (!seenBefore(password, i, c)) unique++;
+            }
+        }
+        return score(length, classes, unique, lineTerminator);
+    }
+
+    /**
+     * 直接對 char[] 中的密碼評分，搭配不產生 String 的 generatePassword 使用
+     */
+    public static int score(char[] password, int offset, int length) {
+        return score(CharBuffer.wrap(password, offset, length));
+    }
+
+    /**
+     * 批次評分，多核心平行處理
+     */
+    public static int[] scoreAll(String[] passwords) {
+        int[] scores = new int[passwords.length];
+        Arrays.parallelSetAll(scores, i -> score(passwords[i]));
+        return scores;
+    }
+
+    private static int score(int length, int classes, int unique, boolean lineTerminator) {
+        int score;
+        if (length >= 12) score = 25;
+        else if (length >= 8) score = 15;
+        else score = 5;
+
+        // 原本以 ".*[A-Z].*" 之類的 matches 判斷，"." 不匹配換行字元，含換行的密碼一律不加分
+        if (!lineTerminator) {
+            if ((classes & UPPER) != 0) score += 15;
+            if ((classes & LOWER) != 0) score += 15;
+            if ((classes & DIGIT) != 0) score += 15;
+            if ((classes & SYMBOL) != 0) score += 20;
+        }
+
+        if (unique > length * 0.8) score += 10;
+        return score;
+    }
+
+    private static boolean seenBefore(CharSequence password, int index, char c) {
+        for (int i = 0; i < index; i++) {
+            if (password.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,8 +3,13 @@ import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.security.SecureRandom;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * 效能分析器 - 分析不同資料結構和Hash Function的效能
@@ -15,11 +20,33 @@ public class PerformanceAnalyzer extends JFrame {
     private JTextArea resultArea;
     private JProgressBar progressBar;
     private JButton analyzeButton;
+    private JButton cancelButton;
     private JComboBox<String> testTypeBox;
     private JSpinner iterationsSpinner;
+    private JComboBox<String> bucketsBox;
+    private JComboBox<String> samplesBox;
+    private JSpinner threadsSpinner;
+    private JComboBox<String> mixBox;
+    
+    // 完整報告包含的分析區段數
+    private static final int COMPLETE_REPORT_SECTIONS = 4;
+    
+    // 負載因子分析中每個雜湊表的項目數
+    private static final int HASH_TABLE_ENTRIES = 100_000;
+    
+    // 並行 Map 分析的密碼 key 數
+    private static final int CONCURRENT_MAP_KEYS = 100_000;
     
     private static final String CHARSET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*";
     
+    // 計時迴圈的結果寫入此欄位，確保不會被視為無用程式碼
+    private volatile int blackhole;
+    
+    // 目前的 worker，直到其背景執行緒真正結束才清除；只在 EDT 存取
+    private AnalysisWorker currentWorker;
+    // 執行分析的背景執行緒所屬的 worker，進度回報只寫入自己的 worker
+    private final ThreadLocal<AnalysisWorker> activeWorker = new ThreadLocal<>();
+    
     public PerformanceAnalyzer() {
         initializeGUI();
         setTitle("Hash Function 效能分析器");
@@ -64,6 +91,11 @@ public class PerformanceAnalyzer extends JFrame {
             "Hash Function 效能比較",
             "Hash Function 分布分析", 
             "資料結構效能比較",
+            "Hash Table 負載因子分析",
+            "時間複雜度驗證",
+            "並行 Map 競爭分析",
+            "多執行緒吞吐量擴展分析",
+            "SecureRandom 實作比較",
             "完整效能報告"
         });
         gbc.gridx = 1;
@@ -77,13 +109,60 @@ public class PerformanceAnalyzer extends JFrame {
         gbc.gridx = 1;
         panel.add(iterationsSpinner, gbc);
         
-        // 分析按鈕
+        // 分布分析的 bucket 數 (可自行輸入，提供質數與 2 的次方)
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("Bucket 數:"), gbc);
+        
+        bucketsBox = new JComboBox<>(new String[]{
+            "100", "97", "128", "1009", "1024", "65521", "65536"
+        });
+        bucketsBox.setEditable(true);
+        gbc.gridx = 1;
+        panel.add(bucketsBox, gbc);
+        
+        // 分布分析取樣數，平均分配到所有核心
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("分布取樣數:"), gbc);
+        
+        samplesBox = new JComboBox<>(new String[]{
+            "1000000", "10000000", "100000000", "1000000000"
+        });
+        samplesBox.setEditable(true);
+        gbc.gridx = 1;
+        panel.add(samplesBox, gbc);
+        
+        // 並行 Map 分析的最大執行緒數與讀寫比例 (讀/寫，可輸入多組，以逗號分隔)
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(new JLabel("最大執行緒數:"), gbc);
+        
+        threadsSpinner = new JSpinner(new SpinnerNumberModel(
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 1, 256, 1));
+        gbc.gridx = 1;
+        panel.add(threadsSpinner, gbc);
+        
+        gbc.gridx = 0; gbc.gridy = 5;
+        panel.add(new JLabel("讀/寫比例:"), gbc);
+        
+        mixBox = new JComboBox<>(new String[]{
+            "100/0, 95/5, 50/50", "95/5", "50/50", "100/0"
+        });
+        mixBox.setEditable(true);
+        gbc.gridx = 1;
+        panel.add(mixBox, gbc);
+        
+        // 分析 / 取消按鈕
         analyzeButton = new JButton("開始分析");
         analyzeButton.addActionListener(new AnalyzeListener());
-        gbc.gridx = 0; gbc.gridy = 2;
+        cancelButton = new JButton("取消");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancelAnalysis());
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 2, 5, 0));
+        buttonPanel.add(analyzeButton);
+        buttonPanel.add(cancelButton);
+        gbc.gridx = 0; gbc.gridy = 6;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.HORIZONTAL;
-        panel.add(analyzeButton, gbc);
+        panel.add(buttonPanel, gbc);
         
         return panel;
     }
@@ -96,61 +175,249 @@ public class PerformanceAnalyzer extends JFrame {
     }
     
     private void runAnalysis() {
+        // 在 EDT 讀取所有設定後交給 worker，背景執行緒不存取 Swing 元件
+        AnalysisWorker worker;
+        try {
+            worker = new AnalysisWorker((String) testTypeBox.getSelectedItem(),
+                (Integer) iterationsSpinner.getValue(),
+                Integer.parseInt(((String) bucketsBox.getSelectedItem()).trim()),
+                Long.parseLong(((String) samplesBox.getSelectedItem()).trim()),
+                (Integer) threadsSpinner.getValue(),
+                ConcurrentMapAnalyzer.parseWriteRatios((String) mixBox.getSelectedItem()));
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "設定值無效: " + ex.getMessage(), "錯誤", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
         analyzeButton.setEnabled(false);
+        cancelButton.setEnabled(true);
         progressBar.setValue(0);
         progressBar.setString("分析中...");
         resultArea.setText("");
         
-        // 使用 SwingWorker 避免凍結UI
-        SwingWorker<String, String> worker = new SwingWorker<String, String>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                StringBuilder result = new StringBuilder();
-                String testType = (String) testTypeBox.getSelectedItem();
-                int iterations = (Integer) iterationsSpinner.getValue();
-                
-                switch (testType) {
-                    case "Hash Function 效能比較":
-                        result.append(analyzeHashFunctionPerformance(iterations));
-                        break;
-                    case "Hash Function 分布分析":
-                        result.append(analyzeHashFunctionDistribution(iterations));
-                        break;
-                    case "資料結構效能比較":
-                        result.append(analyzeDataStructurePerformance(iterations));
-                        break;
-                    case "完整效能報告":
-                        result.append(generateCompleteReport(iterations));
-                        break;
-                }
-                
-                return result.toString();
+        // 每個子測試完成後立即輸出結果
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName()) && !worker.isCancelled()) {
+                showProgress(worker);
             }
-            
-            @Override
-            protected void process(List<String> chunks) {
-                for (String chunk : chunks) {
-                    resultArea.append(chunk);
-                    resultArea.setCaretPosition(resultArea.getDocument().getLength());
-                }
+        });
+        currentWorker = worker;
+        worker.execute();
+    }
+    
+    private void cancelAnalysis() {
+        AnalysisWorker worker = currentWorker;
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        cancelButton.setEnabled(false);
+    }
+    
+    private void showProgress(AnalysisWorker worker) {
+        int progress = worker.getProgress();
+        progressBar.setValue(progress);
+        if (progress > 0 && progress < 100 && !worker.isDone()) {
+            long elapsed = System.nanoTime() - worker.startTime;
+            long remainingSec = Math.round(elapsed / 1_000_000_000.0 * (100 - progress) / progress);
+            progressBar.setString(String.format("分析中... %d%% (剩餘約 %d 秒)", progress, remainingSec));
+        }
+    }
+    
+    // 分析方法在背景執行緒中呼叫的進度回報；
+    // 不在 worker 中執行時不做任何事，分析方法會回傳完整結果
+    private void beginSection(int steps) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.beginSection(steps);
+        }
+    }
+    
+    private void publishPartial(StringBuilder result) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.publishPartial(result);
+        }
+    }
+    
+    private void stepCompleted(StringBuilder result) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.stepCompleted(result);
+        }
+    }
+    
+    private void sectionCompleted(StringBuilder result) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.sectionCompleted(result);
+        }
+    }
+    
+    /**
+     * 執行選定的分析，每完成一個步驟就輸出到結果區，並依區段與步驟回報進度
+     */
+    private class AnalysisWorker extends SwingWorker<Void, String> {
+        private final long startTime = System.nanoTime();
+        private int sectionCount = 1;
+        private int sectionsDone;
+        private int sectionSteps;
+        private int stepsDone;
+        private final String testType;
+        private final int iterations;
+        private final int buckets;
+        private final long samples;
+        private final int maxThreads;
+        private final double[] writeRatios;
+        // doInBackground 開始執行，或取消時尚未開始 (由 done 負責收尾)
+        private final AtomicBoolean started = new AtomicBoolean();
+        
+        AnalysisWorker(String testType, int iterations, int buckets, long samples, int maxThreads,
+                       double[] writeRatios) {
+            this.testType = testType;
+            this.iterations = iterations;
+            this.buckets = buckets;
+            this.samples = samples;
+            this.maxThreads = maxThreads;
+            this.writeRatios = writeRatios;
+        }
+        
+        @Override
+        protected Void doInBackground() throws Exception {
+            if (!started.compareAndSet(false, true)) {
+                return null;
             }
-            
-            @Override
-            protected void done() {
+            activeWorker.set(this);
+            try {
+                analyze();
+            } finally {
+                activeWorker.remove();
+                // 取消時 done 會立即執行，但分析執行緒可能仍在計時迴圈中；等它真正結束才允許下一次分析
+                SwingUtilities.invokeLater(() -> analysisExited(this));
+            }
+            return null;
+        }
+        
+        private void analyze() throws Exception {
+            switch (testType) {
+                case "Hash Function 效能比較":
+                    sectionCompleted(new StringBuilder(analyzeHashFunctionPerformance(iterations)));
+                    break;
+                case "Hash Function 分布分析":
+                    sectionCompleted(new StringBuilder(analyzeHashFunctionDistribution(samples, buckets)));
+                    break;
+                case "資料結構效能比較":
+                    sectionCompleted(new StringBuilder(analyzeDataStructurePerformance(iterations)));
+                    break;
+                case "Hash Table 負載因子分析":
+                    sectionCompleted(new StringBuilder(analyzeHashTableLoadFactors()));
+                    break;
+                case "時間複雜度驗證":
+                    sectionCompleted(new StringBuilder(analyzeComplexitySweep()));
+                    break;
+                case "並行 Map 競爭分析":
+                    sectionCompleted(new StringBuilder(analyzeConcurrentMaps(maxThreads, writeRatios)));
+                    break;
+                case "多執行緒吞吐量擴展分析":
+                    sectionCompleted(new StringBuilder(analyzeThroughputScaling(maxThreads)));
+                    break;
+                case "SecureRandom 實作比較":
+                    sectionCompleted(new StringBuilder(analyzeSecureRandomProviders(maxThreads)));
+                    break;
+                case "完整效能報告":
+                    sectionCount = COMPLETE_REPORT_SECTIONS;
+                    publishPartial(new StringBuilder(generateCompleteReport(iterations, samples, buckets)));
+                    break;
+            }
+        }
+        
+        void beginSection(int steps) {
+            checkCancelled();
+            sectionSteps = steps;
+            stepsDone = 0;
+        }
+        
+        void publishPartial(StringBuilder result) {
+            if (result.length() > 0) {
+                publish(result.toString());
+                result.setLength(0);
+            }
+        }
+        
+        void stepCompleted(StringBuilder result) {
+            publishPartial(result);
+            stepsDone++;
+            updateProgress();
+            checkCancelled();
+        }
+        
+        void sectionCompleted(StringBuilder result) {
+            publishPartial(result);
+            sectionsDone++;
+            sectionSteps = 0;
+            stepsDone = 0;
+            updateProgress();
+            checkCancelled();
+        }
+        
+        private void updateProgress() {
+            double section = sectionSteps > 0 ? Math.min(1.0, (double) stepsDone / sectionSteps) : 0;
+            setProgress((int) Math.min(100, 100.0 * (sectionsDone + section) / sectionCount));
+        }
+        
+        private void checkCancelled() {
+            if (isCancelled() || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+        }
+        
+        @Override
+        protected void process(List<String> chunks) {
+            if (isCancelled()) {
+                return;
+            }
+            for (String chunk : chunks) {
+                resultArea.append(chunk);
+                resultArea.setCaretPosition(resultArea.getDocument().getLength());
+            }
+        }
+        
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                resultArea.append("\n*** 分析已取消，以上為部分結果 ***\n");
+                progressBar.setString("正在停止目前的步驟...");
+                if (started.compareAndSet(false, true)) {
+                    // 尚未開始執行就被取消，沒有背景執行緒需要等待
+                    analysisExited(this);
+                }
+            } else {
                 try {
-                    String result = get();
-                    resultArea.setText(result);
+                    get();
                     progressBar.setValue(100);
                     progressBar.setString("分析完成");
-                } catch (Exception ex) {
-                    resultArea.setText("分析時發生錯誤: " + ex.getMessage());
+                } catch (ExecutionException ex) {
+                    resultArea.append("\n分析時發生錯誤: " + ex.getCause().getMessage());
                     progressBar.setString("發生錯誤");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
                 }
-                analyzeButton.setEnabled(true);
             }
-        };
-        
-        worker.execute();
+        }
+    }
+    
+    /**
+     * worker 的背景執行緒已結束 (或從未開始)，此後才允許開始下一次分析
+     */
+    private void analysisExited(AnalysisWorker worker) {
+        if (currentWorker != worker) {
+            return;
+        }
+        currentWorker = null;
+        if (worker.isCancelled()) {
+            progressBar.setString("分析已取消");
+        }
+        analyzeButton.setEnabled(true);
+        cancelButton.setEnabled(false);
     }
     
     private String analyzeHashFunctionPerformance(int iterations) {
@@ -159,98 +426,465 @@ public class PerformanceAnalyzer extends JFrame {
         result.append("Hash Function 效能比較分析\n");
         result.append("=".repeat(60)).append("\n\n");
         
-        HashFunction[] functions = {
-            new SimpleHashFunction(),
-            new MultiplicationHashFunction(),
-            new UniversalHashFunction()
-        };
+        HashFunction[] functions = HashFunction.allHashFunctions();
+        TabulationHashFunction tabulation = null;
+        ChaCha20HashFunction chacha20 = null;
+        for (HashFunction func : functions) {
+            if (func instanceof TabulationHashFunction) {
+                tabulation = (TabulationHashFunction) func;
+            } else if (func instanceof ChaCha20HashFunction) {
+                chacha20 = (ChaCha20HashFunction) func;
+            }
+        }
         
         int[] passwordLengths = {8, 16, 32};
+        beginSection(passwordLengths.length * functions.length);
         
         for (int length : passwordLengths) {
             result.append(String.format("密碼長度: %d 字符\n", length));
             result.append("-".repeat(40)).append("\n");
             
             for (HashFunction func : functions) {
+                // 暖機，讓 JIT 先完成編譯
+                for (int i = 0; i < iterations / 10; i++) {
+                    blackhole += func.generatePassword(CHARSET, length).hashCode();
+                }
+                
+                int checksum = 0;
+                MemoryMeter meter = MemoryMeter.start();
                 long startTime = System.nanoTime();
                 
                 for (int i = 0; i < iterations; i++) {
-                    func.generatePassword(CHARSET, length);
+                    // 累加結果避免 JIT 將產生密碼的工作消除
+                    checksum += func.generatePassword(CHARSET, length).hashCode();
                 }
                 
                 long endTime = System.nanoTime();
+                MemoryMeter.Sample memory = meter.stop(iterations);
+                blackhole = checksum;
                 double elapsedMs = (endTime - startTime) / 1_000_000.0;
                 double avgMs = elapsedMs / iterations;
                 
-                result.append(String.format("%-25s: 總時間 %8.2f ms, 平均 %8.4f ms\n",
-                    func.getAlgorithmName(), elapsedMs, avgMs));
+                result.append(String.format("%-25s: 總時間 %8.2f ms, 平均 %8.4f ms | %s\n",
+                    func.getAlgorithmName(), elapsedMs, avgMs, memoryColumns(memory, -1)));
+                stepCompleted(result);
             }
             result.append("\n");
         }
+        result.append(String.format("Tabulation Hash 表格: 建立 %.3f ms，佔用 %d KiB (一般 L1 資料快取為 32-48 KiB)\n",
+            tabulation.getTableBuildNanos() / 1_000_000.0, tabulation.getTableFootprintBytes() / 1024));
+        result.append(String.format("ChaCha20: 每 %d KiB keystream 以 SecureRandom 重新產生金鑰，本次共 %d 次\n",
+            chacha20.getReseedBytes() / 1024, chacha20.getReseedCount()));
         
         return result.toString();
     }
     
-    private String analyzeHashFunctionDistribution(int iterations) {
+    private String analyzeHashFunctionDistribution(long samples, int buckets) throws InterruptedException {
         StringBuilder result = new StringBuilder();
         result.append("=".repeat(60)).append("\n");
         result.append("Hash Function 分布均勻性分析\n");
-        result.append("=".repeat(60)).append("\n\n");
+        result.append("=".repeat(60)).append("\n");
         
-        HashFunction[] functions = {
-            new SimpleHashFunction(),
-            new MultiplicationHashFunction(),
-            new UniversalHashFunction()
-        };
+        HashFunction[] functions = HashFunction.allHashFunctions();
         
-        int buckets = 100;
-        Random random = new Random();
+        HashDistributionAnalyzer analyzer = new HashDistributionAnalyzer();
+        beginSection(functions.length);
+        result.append(String.format("取樣數: %,d, Bucket 數: %d, 執行緒: %d\n\n",
+            samples, buckets, Runtime.getRuntime().availableProcessors()));
         
         for (HashFunction func : functions) {
             result.append(func.getAlgorithmName()).append("\n");
             result.append("-".repeat(40)).append("\n");
             
-            int[] distribution = new int[buckets];
+            // GC 次數與時間為整個行程；配置量由各取樣執行緒自行量測後合計
+            MemoryMeter meter = MemoryMeter.start();
+            HashDistributionAnalyzer.Result stats = analyzer.analyze(func, buckets, samples);
+            MemoryMeter.Sample memory = meter.stop(samples);
             
-            // 收集分布數據
-            for (int i = 0; i < iterations; i++) {
-                long input = Math.abs(random.nextLong());
-                int bucket = func.hash(input, buckets);
-                distribution[bucket]++;
+            result.append(String.format("期望值: %.2f\n", stats.expected));
+            result.append(String.format("最小值: %d, 最大值: %d\n", stats.min, stats.max));
+            result.append(String.format("標準差: %.2f\n", stats.stdDev));
+            result.append(String.format("均勻性: %.2f%%\n", stats.uniformity));
+            result.append(String.format("卡方值: %.2f (自由度=%d), p 值: %.4f\n", stats.chiSquare, buckets - 1, stats.pValue));
+            result.append(String.format("最大偏差: %.3f%%\n", stats.maxDeviation));
+            result.append(String.format("耗時: %.2f ms (每秒 %.1f M 次取樣)\n",
+                stats.elapsedNanos / 1_000_000.0, stats.getSamplesPerSecond() / 1_000_000.0));
+            result.append(String.format("記憶體: 取樣執行緒配置 %s, GC %d 次 %d ms\n",
+                MemoryMeter.formatBytes(stats.allocatedBytes), memory.gcCount, memory.gcMillis));
+            result.append("\n");
+            stepCompleted(result);
+        }
+        
+        return result.toString();
+    }
+    
+    private String analyzeHashTableLoadFactors() {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("Hash Table 負載因子分析\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        HashFunction[] functions = HashFunction.allHashFunctions();
+        double[] loadFactors = HashTableAnalyzer.DEFAULT_LOAD_FACTORS;
+        HashTableAnalyzer.TableType[] tableTypes = HashTableAnalyzer.TableType.values();
+        
+        HashTableAnalyzer analyzer = new HashTableAnalyzer(HASH_TABLE_ENTRIES);
+        beginSection(tableTypes.length * loadFactors.length);
+        result.append(String.format("每個表格 %,d 筆；時間為每次操作的 ns，探測長度為 平均/p50/p99/最大\n\n", analyzer.getEntries()));
+        
+        StringBuilder summary = new StringBuilder();
+        for (HashTableAnalyzer.TableType type : tableTypes) {
+            HashTableAnalyzer.Result best = null;
+            for (double loadFactor : loadFactors) {
+                HashTableAnalyzer.Result first = null;
+                double bytesPerOperation = 0;
+                MemoryMeter meter = MemoryMeter.start();
+                for (HashFunction func : functions) {
+                    HashTableAnalyzer.Result stats = analyzer.analyze(func, type, loadFactor);
+                    bytesPerOperation = Math.max(bytesPerOperation, stats.bytesPerOperation);
+                    if (first == null) {
+                        first = stats;
+                        result.append("[").append(stats.tableName).append("] ");
+                        result.append(String.format("負載因子 %.2f (容量 %,d)\n", loadFactor, stats.capacity));
+                    }
+                    result.append(String.format("%-36s 插入 %6.1f 命中 %6.1f 未命中 %6.1f 刪除 %6.1f | 命中探測 %s 未命中探測 %s\n",
+                        stats.algorithmName, stats.insertNanos, stats.hitNanos, stats.missNanos, stats.deleteNanos,
+                        stats.hitProbes, stats.missProbes));
+                    // 高負載時各表格命中探測平均最短的 Hash 策略
+                    if (loadFactor == loadFactors[loadFactors.length - 1]
+                            && (best == null || stats.hitProbes.mean < best.hitProbes.mean)) {
+                        best = stats;
+                    }
+                }
+                MemoryMeter.Sample memory = meter.stop(0);
+                // 保留堆積與 Hash Function 無關，每個負載因子量測一次 (會觸發 GC，放在 GC 統計之後)
+                long retained = analyzer.retainedBytes(functions[0], type, loadFactor);
+                result.append(String.format("記憶體: 保留 %s (每筆 %.1f B), 操作配置 %s/次, GC %d 次 %d ms\n",
+                    MemoryMeter.formatBytes(retained), (double) retained / analyzer.getEntries(),
+                    Double.isNaN(bytesPerOperation) ? "n/a" : MemoryMeter.formatBytes(bytesPerOperation),
+                    memory.gcCount, memory.gcMillis));
+                result.append("\n");
+                stepCompleted(result);
             }
-            
-            // 計算統計
-            double expected = (double) iterations / buckets;
-            double variance = 0;
-            int min = Integer.MAX_VALUE;
-            int max = Integer.MIN_VALUE;
-            
-            for (int count : distribution) {
-                variance += Math.pow(count - expected, 2);
-                min = Math.min(min, count);
-                max = Math.max(max, count);
+            summary.append(String.format("[%s] 負載因子 %.2f 時命中探測最短: %s (%.2f)\n", best.tableName,
+                best.loadFactor, best.algorithmName, best.hitProbes.mean));
+        }
+        result.append(summary);
+        
+        return result.toString();
+    }
+    
+    private String analyzeComplexitySweep() {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("時間複雜度驗證 (資料量掃描)\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        ComplexitySweep.Structure[] structures = ComplexitySweep.Structure.values();
+        ComplexitySweep sweep = new ComplexitySweep();
+        int[] sizes = sweep.getSizes();
+        beginSection(structures.length);
+        result.append("時間為每次操作的 ns；指數為 log-log 最小平方法擬合 t ∝ n^b 的斜率，");
+        result.append(String.format("與理論值相差超過 %.2f 標示 ⚠\n", ComplexitySweep.TOLERANCE));
+        result.append(String.format("%-32s", "n"));
+        for (int size : sizes) {
+            result.append(String.format(" %11s", String.format("%,d", size)));
+        }
+        result.append("\n");
+        
+        List<ComplexitySweep.Result> linear = new ArrayList<>();
+        List<ComplexitySweep.Result> mismatched = new ArrayList<>();
+        for (ComplexitySweep.Structure structure : structures) {
+            for (ComplexitySweep.Result stats : sweep.sweep(structure)) {
+                result.append(String.format("%-32s", stats.structureName + " " + stats.operation));
+                for (double nanos : stats.nanosPerOperation) {
+                    result.append(String.format(" %11.1f", nanos));
+                }
+                result.append("\n");
+                result.append(String.format("    理論 %-8s (指數 %.2f)  擬合 %.2f  R² %.2f  最接近 %-8s %s\n",
+                    stats.expected.label, stats.expectedExponent, stats.exponent, stats.rSquared,
+                    stats.closest().label, stats.matchesExpected() ? "✓" : "⚠"));
+                if (stats.failedSize > 0) {
+                    result.append(String.format("    n = %,d 時記憶體不足，只擬合到前一個大小\n", stats.failedSize));
+                }
+                if (stats.closest() == ComplexitySweep.Complexity.LINEAR) {
+                    linear.add(stats);
+                }
+                if (!stats.matchesExpected()) {
+                    mismatched.add(stats);
+                }
             }
+            result.append("\n");
+            stepCompleted(result);
+        }
+        
+        result.append("線性成長的操作 (大量資料時應避免):\n");
+        if (linear.isEmpty()) {
+            result.append("  無\n");
+        }
+        for (ComplexitySweep.Result stats : linear) {
+            result.append(String.format("  %s %s: 指數 %.2f，n 增加 10 倍每次操作約慢 %.0f 倍\n",
+                stats.structureName, stats.operation, stats.exponent, Math.pow(10, stats.exponent)));
+        }
+        result.append("與理論不符的操作:\n");
+        if (mismatched.isEmpty()) {
+            result.append("  無\n");
+        }
+        for (ComplexitySweep.Result stats : mismatched) {
+            result.append(String.format("  %s %s: 理論 %s 指數 %.2f，實測 %.2f\n", stats.structureName,
+                stats.operation, stats.expected.label, stats.expectedExponent, stats.exponent));
+        }
+        if (!mismatched.isEmpty()) {
+            result.append("  註: 資料超出 CPU 快取後每次存取都可能是記憶體延遲，指標型結構 (HashMap、TreeMap 的節點)\n");
+            result.append("      受影響最大，O(1) / O(log n) 的操作在大 n 時常見 0.1–0.4 的斜率\n");
+        }
+        
+        return result.toString();
+    }
+    
+    private String analyzeConcurrentMaps(int maxThreads, double[] writeRatios) throws InterruptedException {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("並行 Map 競爭分析\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        HashFunction[] functions = HashFunction.allHashFunctions();
+        ConcurrentMapAnalyzer.MapType[] mapTypes = ConcurrentMapAnalyzer.MapType.values();
+        int[] threadCounts = ConcurrentMapAnalyzer.threadCounts(maxThreads);
+        beginSection(writeRatios.length * mapTypes.length);
+        
+        // key 為各 Hash Function 產生的 16 字元密碼，不計入量測
+        ConcurrentMapAnalyzer analyzer = new ConcurrentMapAnalyzer(
+            ConcurrentMapAnalyzer.generateKeys(functions, CHARSET, 16, CONCURRENT_MAP_KEYS));
+        int processors = Runtime.getRuntime().availableProcessors();
+        result.append(String.format("%,d 個密碼 key，Map 保持約半滿；寫入一半為 put、一半為 remove；本機 %d 個處理器\n",
+            analyzer.getKeyCount(), processors));
+        result.append("數值為每秒百萬次操作 (總計 / 每執行緒)\n\n");
+        
+        StringBuilder summary = new StringBuilder();
+        for (double writeRatio : writeRatios) {
+            result.append(String.format("[讀/寫 %s]\n", ConcurrentMapAnalyzer.formatMix(writeRatio)));
+            result.append(String.format("%-26s", "執行緒數"));
+            for (int threads : threadCounts) {
+                result.append(String.format(" %15d", threads));
+            }
+            result.append("\n");
             
-            variance /= buckets;
-            double stdDev = Math.sqrt(variance);
-            double uniformity = 100.0 * (1.0 - stdDev / expected);
-            
-            result.append(String.format("期望值: %.2f\n", expected));
-            result.append(String.format("最小值: %d, 最大值: %d\n", min, max));
-            result.append(String.format("標準差: %.2f\n", stdDev));
-            result.append(String.format("均勻性: %.2f%%\n", uniformity));
+            ConcurrentMapAnalyzer.Result best = null;
+            for (ConcurrentMapAnalyzer.MapType type : mapTypes) {
+                StringBuilder total = new StringBuilder();
+                StringBuilder perThread = new StringBuilder();
+                ConcurrentMapAnalyzer.Result first = null;
+                ConcurrentMapAnalyzer.Result peak = null;
+                ConcurrentMapAnalyzer.Result last = null;
+                long allocated = 0;
+                long operations = 0;
+                MemoryMeter meter = MemoryMeter.start();
+                for (int threads : threadCounts) {
+                    ConcurrentMapAnalyzer.Result stats = analyzer.analyze(type, threads, writeRatio);
+                    total.append(String.format(" %15.2f", stats.getOperationsPerSecond() / 1_000_000));
+                    perThread.append(String.format(" %15.2f", stats.getOperationsPerSecondPerThread() / 1_000_000));
+                    allocated = stats.allocatedBytes < 0 || allocated < 0 ? -1 : allocated + stats.allocatedBytes;
+                    operations += stats.operations;
+                    if (first == null) {
+                        first = stats;
+                    }
+                    if (peak == null || stats.getOperationsPerSecond() > peak.getOperationsPerSecond()) {
+                        peak = stats;
+                    }
+                    last = stats;
+                }
+                MemoryMeter.Sample gc = meter.stop(0);
+                result.append(String.format("%-26s", type.displayName)).append(total).append("\n");
+                result.append(String.format("%-26s", "  每執行緒")).append(perThread).append("\n");
+                result.append("  ").append(memoryColumns(
+                    new MemoryMeter.Sample(allocated, operations, gc.gcCount, gc.gcMillis), -1)).append("\n");
+                summary.append(String.format("[讀/寫 %s] %-26s 峰值 %.2f M ops/s 於 %d 執行緒，%d 執行緒時為 %d 執行緒的 %.2f 倍\n",
+                    ConcurrentMapAnalyzer.formatMix(writeRatio), type.displayName,
+                    peak.getOperationsPerSecond() / 1_000_000, peak.threads, last.threads, first.threads,
+                    last.getOperationsPerSecond() / first.getOperationsPerSecond()));
+                if (best == null || last.getOperationsPerSecond() > best.getOperationsPerSecond()) {
+                    best = last;
+                }
+                stepCompleted(result);
+            }
+            result.append(String.format("%d 執行緒時最快: %s (%.2f M ops/s)\n\n", best.threads, best.mapName,
+                best.getOperationsPerSecond() / 1_000_000));
+        }
+        result.append(summary);
+        if (maxThreads > processors) {
+            result.append(String.format("註: 執行緒數超過處理器數 (%d) 時沒有平行加速，只反映鎖競爭與排程成本\n", processors));
+        }
+        
+        return result.toString();
+    }
+    
+    private String analyzeThroughputScaling(int maxThreads) throws InterruptedException {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("多執行緒吞吐量擴展分析\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        List<Supplier<HashFunction>> factories = HashFunction.allHashFunctionFactories();
+        ThroughputScalingAnalyzer.Mode[] modes = ThroughputScalingAnalyzer.Mode.values();
+        int[] threadCounts = ConcurrentMapAnalyzer.threadCounts(maxThreads);
+        int processors = Runtime.getRuntime().availableProcessors();
+        beginSection(factories.size() * modes.length);
+        
+        ThroughputScalingAnalyzer analyzer = new ThroughputScalingAnalyzer(CHARSET, 16);
+        result.append(String.format("16 字元密碼；數值為每秒總密碼數與相對線性擴展的效率 (N 執行緒 / (N × 1 執行緒))；本機 %d 個處理器\n\n",
+            processors));
+        
+        StringBuilder summary = new StringBuilder();
+        for (Supplier<HashFunction> factory : factories) {
+            ThroughputScalingAnalyzer.Result best = null;
+            ThroughputScalingAnalyzer.Result bestBaseline = null;
+            for (ThroughputScalingAnalyzer.Mode mode : modes) {
+                StringBuilder throughput = new StringBuilder();
+                StringBuilder efficiency = new StringBuilder();
+                ThroughputScalingAnalyzer.Result first = null;
+                ThroughputScalingAnalyzer.Result last = null;
+                long allocated = 0;
+                long passwords = 0;
+                MemoryMeter meter = MemoryMeter.start();
+                for (int threads : threadCounts) {
+                    ThroughputScalingAnalyzer.Result stats = analyzer.analyze(factory, mode, threads);
+                    if (first == null) {
+                        first = stats;
+                        if (mode == modes[0]) {
+                            result.append("[").append(stats.algorithmName).append("]\n");
+                            result.append(String.format("%-30s", "執行緒數"));
+                            for (int count : threadCounts) {
+                                result.append(String.format(" %11d", count));
+                            }
+                            result.append("\n");
+                        }
+                    }
+                    throughput.append(String.format(" %,11.0f", stats.getPasswordsPerSecond()));
+                    efficiency.append(String.format(" %10.0f%%", 100 * stats.efficiency(first)));
+                    allocated = stats.allocatedBytes < 0 || allocated < 0 ? -1 : allocated + stats.allocatedBytes;
+                    passwords += stats.passwords;
+                    last = stats;
+                }
+                MemoryMeter.Sample gc = meter.stop(0);
+                result.append(String.format("%-30s", modeLabel(mode))).append(throughput).append("\n");
+                result.append(String.format("%-30s", "  效率")).append(efficiency).append("\n");
+                result.append("  ").append(memoryColumns(
+                    new MemoryMeter.Sample(allocated, passwords, gc.gcCount, gc.gcMillis), -1)).append("\n");
+                if (best == null || last.getPasswordsPerSecond() > best.getPasswordsPerSecond()) {
+                    best = last;
+                    bestBaseline = first;
+                }
+                stepCompleted(result);
+            }
+            result.append("\n");
+            summary.append(String.format("%-36s %d 執行緒時最快: %s，每秒 %,.0f 組 (效率 %.0f%%)\n",
+                best.algorithmName, best.threads, modeLabel(best.mode), best.getPasswordsPerSecond(),
+                100 * best.efficiency(bestBaseline)));
+        }
+        result.append(summary);
+        result.append("共用實例時所有執行緒使用同一個 SecureRandom；每執行緒實例的預設 SecureRandom 在 Linux 上\n");
+        result.append("仍共用 NativePRNG 的全域鎖，ConcurrentPasswordGenerator 則為每執行緒獨立的 DRBG；\n");
+        result.append("ParallelPasswordGenerator 每次以 ForkJoinPool 批次產生 N × 512 組，每個工作執行緒同樣使用獨立的 DRBG\n");
+        if (maxThreads > processors) {
+            result.append(String.format("註: 執行緒數超過處理器數 (%d) 時效率上限為 處理器數 / 執行緒數\n", processors));
+        }
+        
+        return result.toString();
+    }
+    
+    private static String modeLabel(ThroughputScalingAnalyzer.Mode mode) {
+        switch (mode) {
+            case SHARED_INSTANCE:
+                return "共用單一實例";
+            case PER_THREAD_INSTANCE:
+                return "每執行緒一個實例";
+            case CONCURRENT_GENERATOR:
+                return "ConcurrentPasswordGenerator";
+            default:
+                return "ParallelPasswordGenerator (Fork/Join)";
+        }
+    }
+    
+    private String analyzeSecureRandomProviders(int threads) throws InterruptedException {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("SecureRandom 實作比較\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        SecureRandomProvider[] providers = SecureRandomProvider.values();
+        SecureRandomAnalyzer analyzer = new SecureRandomAnalyzer(threads);
+        beginSection(providers.length);
+        result.append(String.format("平台預設: %s；播種為建立新實例到取得第一個亂數的時間 (首次 / %s)，\n",
+            new SecureRandom().getAlgorithm(), "中位數"));
+        result.append(String.format("nextLong 與 %d 執行緒的數值為每秒百萬次，nextBytes 為 4 KiB 區塊的 MiB/s\n\n", threads));
+        result.append(String.format("%-30s %10s %10s %10s %10s %12s %12s  %s\n", "實作", "首次 ms", "播種 ms",
+            "nextLong", "MiB/s", "共用實例", "各自實例", "配置/次"));
+        
+        List<SecureRandomAnalyzer.Result> available = new ArrayList<>();
+        for (SecureRandomProvider provider : providers) {
+            SecureRandomAnalyzer.Result stats = analyzer.analyze(provider);
+            if (stats.isAvailable()) {
+                available.add(stats);
+                result.append(String.format("%-30s %10.2f %10.2f %10.2f %10.1f %12.2f %12.2f  %s\n",
+                    provider.displayName, stats.firstSeedNanos / 1_000_000.0, stats.medianSeedNanos / 1_000_000.0,
+                    stats.longsPerSecond / 1_000_000, stats.bytesPerSecond / (1024 * 1024),
+                    stats.sharedLongsPerSecond / 1_000_000, stats.perThreadLongsPerSecond / 1_000_000,
+                    Double.isNaN(stats.bytesAllocatedPerLong) ? "n/a" : MemoryMeter.formatBytes(stats.bytesAllocatedPerLong)));
+            } else {
+                result.append(String.format("%-30s 不支援: %s\n", provider.displayName, stats.error));
+            }
+            stepCompleted(result);
+        }
+        
+        if (!available.isEmpty()) {
+            SecureRandomAnalyzer.Result fastestLong = available.get(0);
+            SecureRandomAnalyzer.Result fastestBytes = available.get(0);
+            SecureRandomAnalyzer.Result fastestContended = available.get(0);
+            SecureRandomAnalyzer.Result fastestSeed = available.get(0);
+            for (SecureRandomAnalyzer.Result stats : available) {
+                if (stats.longsPerSecond > fastestLong.longsPerSecond) fastestLong = stats;
+                if (stats.bytesPerSecond > fastestBytes.bytesPerSecond) fastestBytes = stats;
+                if (Math.max(stats.sharedLongsPerSecond, stats.perThreadLongsPerSecond)
+                        > Math.max(fastestContended.sharedLongsPerSecond, fastestContended.perThreadLongsPerSecond)) {
+                    fastestContended = stats;
+                }
+                if (stats.medianSeedNanos < fastestSeed.medianSeedNanos) fastestSeed = stats;
+            }
             result.append("\n");
+            result.append(String.format("逐字符產生 (nextLong) 最快: %s\n", fastestLong.provider.displayName));
+            result.append(String.format("批次產生 (nextBytes) 最快: %s\n", fastestBytes.provider.displayName));
+            result.append(String.format("%d 執行緒時最快: %s (%s)\n", threads, fastestContended.provider.displayName,
+                fastestContended.perThreadLongsPerSecond >= fastestContended.sharedLongsPerSecond ? "各自實例" : "共用實例"));
+            result.append(String.format("播種最快: %s\n", fastestSeed.provider.displayName));
         }
+        result.append("NativePRNG 系列的所有實例共用同一個讀取 /dev/urandom 的鎖，各自實例也不會平行；\n");
+        result.append("DRBG 每次呼叫都執行完整的產生流程，單次取 8 位元組的成本遠高於整塊取得\n");
         
         return result.toString();
     }
     
     private String analyzeDataStructurePerformance(int iterations) {
         StringBuilder result = new StringBuilder();
+        beginSection(7);
         result.append("=".repeat(60)).append("\n");
         result.append("資料結構效能比較分析\n");
         result.append("=".repeat(60)).append("\n\n");
         
+        // 字串與隨機索引事先產生，計時區間內只有集合操作
+        String[] passwords = new String[iterations];
+        String[] keys = new String[iterations];
+        for (int i = 0; i < iterations; i++) {
+            passwords[i] = "password" + i;
+            keys[i] = "key" + i;
+        }
+        Random random = new Random();
+        int searchIterations = Math.min(iterations, 1000);
+        int[] searchIndexes = new int[searchIterations];
+        for (int i = 0; i < searchIterations; i++) {
+            searchIndexes[i] = random.nextInt(iterations);
+        }
+        
         // ArrayList vs LinkedList 效能比較
         result.append("1. ArrayList vs LinkedList 效能比較\n");
         result.append("-".repeat(40)).append("\n");
@@ -259,45 +893,59 @@ public class PerformanceAnalyzer extends JFrame {
         List<String> linkedList = new LinkedList<>();
         
         // 測試插入效能
+        // 填入前後各 GC 一次，差值即為資料結構的保留堆積 (字串已事先產生，不計入)
+        long heapBeforeArrayList = MemoryMeter.usedHeapAfterGc();
+        MemoryMeter meter = MemoryMeter.start();
         long startTime = System.nanoTime();
         for (int i = 0; i < iterations; i++) {
-            arrayList.add("password" + i);
+            arrayList.add(passwords[i]);
         }
         long arrayListInsertTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample arrayListInsertMemory = meter.stop(iterations);
+        long heapAfterArrayList = MemoryMeter.usedHeapAfterGc();
+        long arrayListRetained = heapAfterArrayList - heapBeforeArrayList;
         
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < iterations; i++) {
-            linkedList.add("password" + i);
+            linkedList.add(passwords[i]);
         }
         long linkedListInsertTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample linkedListInsertMemory = meter.stop(iterations);
+        long linkedListRetained = MemoryMeter.usedHeapAfterGc() - heapAfterArrayList;
         
         result.append(String.format("插入 %d 個元素:\n", iterations));
-        result.append(String.format("ArrayList: %.2f ms\n", arrayListInsertTime / 1_000_000.0));
-        result.append(String.format("LinkedList: %.2f ms\n", linkedListInsertTime / 1_000_000.0));
+        result.append(String.format("ArrayList: %.2f ms | %s\n", arrayListInsertTime / 1_000_000.0,
+            memoryColumns(arrayListInsertMemory, arrayListRetained)));
+        result.append(String.format("LinkedList: %.2f ms | %s\n", linkedListInsertTime / 1_000_000.0,
+            memoryColumns(linkedListInsertMemory, linkedListRetained)));
         result.append("\n");
+        stepCompleted(result);
         
         // 測試隨機存取效能
-        Random random = new Random();
-        int searchIterations = Math.min(iterations, 1000);
-        
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < searchIterations; i++) {
-            int index = random.nextInt(arrayList.size());
-            arrayList.get(index);
+            arrayList.get(searchIndexes[i]);
         }
         long arrayListAccessTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample arrayListAccessMemory = meter.stop(searchIterations);
         
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < searchIterations; i++) {
-            int index = random.nextInt(linkedList.size());
-            ((LinkedList<String>) linkedList).get(index);
+            linkedList.get(searchIndexes[i]);
         }
         long linkedListAccessTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample linkedListAccessMemory = meter.stop(searchIterations);
         
         result.append(String.format("隨機存取 %d 次:\n", searchIterations));
-        result.append(String.format("ArrayList: %.2f ms\n", arrayListAccessTime / 1_000_000.0));
-        result.append(String.format("LinkedList: %.2f ms\n", linkedListAccessTime / 1_000_000.0));
+        result.append(String.format("ArrayList: %.2f ms | %s\n", arrayListAccessTime / 1_000_000.0,
+            memoryColumns(arrayListAccessMemory, -1)));
+        result.append(String.format("LinkedList: %.2f ms | %s\n", linkedListAccessTime / 1_000_000.0,
+            memoryColumns(linkedListAccessMemory, -1)));
         result.append("\n");
+        stepCompleted(result);
         
         // HashMap vs TreeMap 效能比較
         result.append("2. HashMap vs TreeMap 效能比較\n");
@@ -307,46 +955,107 @@ public class PerformanceAnalyzer extends JFrame {
         Map<String, String> treeMap = new TreeMap<>();
         
         // 測試插入效能
+        // 填入前後各 GC 一次，差值即為資料結構的保留堆積 (字串已事先產生，不計入)
+        long heapBeforeHashMap = MemoryMeter.usedHeapAfterGc();
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < iterations; i++) {
-            hashMap.put("key" + i, "password" + i);
+            hashMap.put(keys[i], passwords[i]);
         }
         long hashMapInsertTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample hashMapInsertMemory = meter.stop(iterations);
+        long heapAfterHashMap = MemoryMeter.usedHeapAfterGc();
+        long hashMapRetained = heapAfterHashMap - heapBeforeHashMap;
         
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < iterations; i++) {
-            treeMap.put("key" + i, "password" + i);
+            treeMap.put(keys[i], passwords[i]);
         }
         long treeMapInsertTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample treeMapInsertMemory = meter.stop(iterations);
+        long treeMapRetained = MemoryMeter.usedHeapAfterGc() - heapAfterHashMap;
         
         result.append(String.format("插入 %d 個鍵值對:\n", iterations));
-        result.append(String.format("HashMap: %.2f ms\n", hashMapInsertTime / 1_000_000.0));
-        result.append(String.format("TreeMap: %.2f ms\n", treeMapInsertTime / 1_000_000.0));
+        result.append(String.format("HashMap: %.2f ms | %s\n", hashMapInsertTime / 1_000_000.0,
+            memoryColumns(hashMapInsertMemory, hashMapRetained)));
+        result.append(String.format("TreeMap: %.2f ms | %s\n", treeMapInsertTime / 1_000_000.0,
+            memoryColumns(treeMapInsertMemory, treeMapRetained)));
         result.append("\n");
+        stepCompleted(result);
         
         // 測試查找效能
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < searchIterations; i++) {
-            int key = random.nextInt(iterations);
-            hashMap.get("key" + key);
+            hashMap.get(keys[searchIndexes[i]]);
         }
         long hashMapSearchTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample hashMapSearchMemory = meter.stop(searchIterations);
         
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < searchIterations; i++) {
-            int key = random.nextInt(iterations);
-            treeMap.get("key" + key);
+            treeMap.get(keys[searchIndexes[i]]);
         }
         long treeMapSearchTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample treeMapSearchMemory = meter.stop(searchIterations);
         
         result.append(String.format("隨機查找 %d 次:\n", searchIterations));
-        result.append(String.format("HashMap: %.2f ms\n", hashMapSearchTime / 1_000_000.0));
-        result.append(String.format("TreeMap: %.2f ms\n", treeMapSearchTime / 1_000_000.0));
+        result.append(String.format("HashMap: %.2f ms | %s\n", hashMapSearchTime / 1_000_000.0,
+            memoryColumns(hashMapSearchMemory, -1)));
+        result.append(String.format("TreeMap: %.2f ms | %s\n", treeMapSearchTime / 1_000_000.0,
+            memoryColumns(treeMapSearchMemory, -1)));
+        stepCompleted(result);
+        
+        // 基本型別集合 vs 裝箱集合
+        result.append("\n3. 基本型別集合 vs 裝箱集合\n");
+        result.append("-".repeat(40)).append("\n");
+        CollectionBoxingAnalyzer boxing = new CollectionBoxingAnalyzer(iterations);
+        result.append(String.format("%,d 個 int 值 / long key (事先產生)，每次操作的 ns，視窗大小 %d\n",
+            boxing.getElements(), CollectionBoxingAnalyzer.DEQUE_WINDOW));
+        appendBoxingResults(result, boxing.analyzeLists());
+        stepCompleted(result);
+        appendBoxingResults(result, boxing.analyzeDeques());
+        stepCompleted(result);
+        appendBoxingResults(result, boxing.analyzeMaps());
+        stepCompleted(result);
         
         return result.toString();
     }
     
-    private String generateCompleteReport(int iterations) {
+    // 每個操作一組，最後一行為最快的裝箱集合相對於基本型別版本的倍數
+    private void appendBoxingResults(StringBuilder result, List<CollectionBoxingAnalyzer.Result> results) {
+        Map<String, List<CollectionBoxingAnalyzer.Result>> byOperation = new LinkedHashMap<>();
+        for (CollectionBoxingAnalyzer.Result r : results) {
+            byOperation.computeIfAbsent(r.operation, k -> new ArrayList<>()).add(r);
+        }
+        for (Map.Entry<String, List<CollectionBoxingAnalyzer.Result>> entry : byOperation.entrySet()) {
+            double boxed = Double.MAX_VALUE;
+            double primitive = Double.NaN;
+            result.append(entry.getKey()).append(":\n");
+            for (CollectionBoxingAnalyzer.Result r : entry.getValue()) {
+                result.append(String.format("  %-24s %8.2f ns | 配置 %s/次%s\n", r.collectionName, r.nanosPerOperation,
+                    Double.isNaN(r.bytesPerOperation) ? "n/a" : MemoryMeter.formatBytes(r.bytesPerOperation),
+                    r.retainedBytes < 0 ? "" : ", 保留 " + MemoryMeter.formatBytes(r.retainedBytes)));
+                if (r.primitive) {
+                    primitive = r.nanosPerOperation;
+                } else {
+                    boxed = Math.min(boxed, r.nanosPerOperation);
+                }
+            }
+            result.append(String.format("  裝箱成本: %.1fx\n", boxed / primitive));
+        }
+    }
+    
+    // 接在計時結果後的記憶體欄位：每次操作配置的位元組數、期間的 GC 次數與時間，以及 (有的話) 保留堆積
+    private static String memoryColumns(MemoryMeter.Sample sample, long retainedBytes) {
+        String columns = String.format("配置 %s/次, GC %d 次 %d ms",
+            sample.formatBytesPerOperation(), sample.gcCount, sample.gcMillis);
+        return retainedBytes < 0 ? columns : columns + ", 保留 " + MemoryMeter.formatBytes(retainedBytes);
+    }
+    
+    private String generateCompleteReport(int iterations, long samples, int buckets) throws InterruptedException {
         StringBuilder report = new StringBuilder();
         
         report.append("=".repeat(80)).append("\n");
@@ -356,22 +1065,34 @@ public class PerformanceAnalyzer extends JFrame {
         report.append("測試設定:\n");
         report.append(String.format("- 測試次數: %d\n", iterations));
         report.append(String.format("- 字符集大小: %d\n", CHARSET.length()));
+        report.append(String.format("- 分布取樣數: %,d (Bucket 數: %d)\n", samples, buckets));
+        report.append(String.format("- 最大堆積: %s, 執行緒配置量測: %s\n", MemoryMeter.formatBytes(Runtime.getRuntime().maxMemory()),
+            MemoryMeter.isAllocationSupported() ? "支援" : "不支援"));
         report.append(String.format("- 測試時間: %s\n\n", new Date()));
         
+        publishPartial(report);
         report.append(analyzeHashFunctionPerformance(iterations));
+        sectionCompleted(report);
         report.append("\n");
-        report.append(analyzeHashFunctionDistribution(iterations));
+        report.append(analyzeHashFunctionDistribution(samples, buckets));
+        sectionCompleted(report);
         report.append("\n");
         report.append(analyzeDataStructurePerformance(iterations));
+        sectionCompleted(report);
+        report.append("\n");
+        report.append(analyzeHashTableLoadFactors());
+        sectionCompleted(report);
         
         report.append("\n").append("=".repeat(80)).append("\n");
         report.append("結論與建議:\n");
         report.append("=".repeat(80)).append("\n");
         report.append("1. Hash Function 效能: 簡單Hash通常最快，但分布可能不夠均勻\n");
         report.append("2. 通用Hash提供最佳的安全性和分布均勻性\n");
-        report.append("3. ArrayList 在隨機存取上優於 LinkedList\n");
-        report.append("4. HashMap 在一般查找上優於 TreeMap\n");
-        report.append("5. 實際應用應根據安全需求選擇適當的演算法\n");
+        report.append("3. Mersenne 質數與乘法位移Hash以乘法取代除法，具通用Hash的保證且速度更快\n");
+        report.append("4. ArrayList 在隨機存取上優於 LinkedList\n");
+        report.append("5. HashMap 在一般查找上優於 TreeMap\n");
+        report.append("6. 高負載因子下 Robin Hood 的探測長度分布最集中，鏈結法的未命中查詢最穩定\n");
+        report.append("7. 實際應用應根據安全需求選擇適當的演算法\n");
         
         return report.toString();
     }
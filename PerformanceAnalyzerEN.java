@@ -3,8 +3,13 @@ import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.security.SecureRandom;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 public class PerformanceAnalyzerEN extends JFrame {
     private static final long serialVersionUID = 1L;
@@ -12,11 +17,33 @@ public class PerformanceAnalyzerEN extends JFrame {
     private JTextArea resultArea;
     private JProgressBar progressBar;
     private JButton analyzeButton;
+    private JButton cancelButton;
     private JComboBox<String> testTypeBox;
     private JSpinner iterationsSpinner;
+    private JComboBox<String> bucketsBox;
+    private JComboBox<String> samplesBox;
+    private JSpinner threadsSpinner;
+    private JComboBox<String> mixBox;
+    
+    // Number of analysis sections in the complete report
+    private static final int COMPLETE_REPORT_SECTIONS = 4;
+    
+    // Entries per table in the load factor sweep
+    private static final int HASH_TABLE_ENTRIES = 100_000;
+    
+    // Password keys in the concurrent map analysis
+    private static final int CONCURRENT_MAP_KEYS = 100_000;
     
     private static final String CHARSET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*";
     
+    // Timed loops write their results here so they are never dead code
+    private volatile int blackhole;
+    
+    // The current worker, cleared only once its background thread has exited; EDT only
+    private AnalysisWorker currentWorker;
+    // The worker owning the analysis thread; progress hooks only ever report to it
+    private final ThreadLocal<AnalysisWorker> activeWorker = new ThreadLocal<>();
+    
     public PerformanceAnalyzerEN() {
         initializeGUI();
         setTitle("Hash Function Performance Analyzer");
@@ -61,6 +88,11 @@ public class PerformanceAnalyzerEN extends JFrame {
             "Hash Function Performance",
             "Hash Function Distribution", 
             "Data Structure Performance",
+            "Hash Table Load Factor Sweep",
+            "Complexity Sweep",
+            "Concurrent Map Contention",
+            "Throughput Scaling",
+            "SecureRandom Provider Comparison",
             "Complete Performance Report"
         });
         gbc.gridx = 1;
@@ -74,13 +106,60 @@ public class PerformanceAnalyzerEN extends JFrame {
         gbc.gridx = 1;
         panel.add(iterationsSpinner, gbc);
         
-        // Analyze button
+        // Distribution bucket count (editable, prime and power-of-two presets)
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(new JLabel("Buckets:"), gbc);
+        
+        bucketsBox = new JComboBox<>(new String[]{
+            "100", "97", "128", "1009", "1024", "65521", "65536"
+        });
+        bucketsBox.setEditable(true);
+        gbc.gridx = 1;
+        panel.add(bucketsBox, gbc);
+        
+        // Distribution sample count, sharded across all cores
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(new JLabel("Distribution Samples:"), gbc);
+        
+        samplesBox = new JComboBox<>(new String[]{
+            "1000000", "10000000", "100000000", "1000000000"
+        });
+        samplesBox.setEditable(true);
+        gbc.gridx = 1;
+        panel.add(samplesBox, gbc);
+        
+        // Maximum threads and read/write mixes (read/write, several separated by commas) for the concurrent map analysis
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(new JLabel("Max Threads:"), gbc);
+        
+        threadsSpinner = new JSpinner(new SpinnerNumberModel(
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), 1, 256, 1));
+        gbc.gridx = 1;
+        panel.add(threadsSpinner, gbc);
+        
+        gbc.gridx = 0; gbc.gridy = 5;
+        panel.add(new JLabel("Read/Write Mix:"), gbc);
+        
+        mixBox = new JComboBox<>(new String[]{
+            "100/0, 95/5, 50/50", "95/5", "50/50", "100/0"
+        });
+        mixBox.setEditable(true);
+        gbc.gridx = 1;
+        panel.add(mixBox, gbc);
+        
+        // Analyze / cancel buttons
         analyzeButton = new JButton("Start Analysis");
         analyzeButton.addActionListener(new AnalyzeListener());
-        gbc.gridx = 0; gbc.gridy = 2;
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancelAnalysis());
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 2, 5, 0));
+        buttonPanel.add(analyzeButton);
+        buttonPanel.add(cancelButton);
+        gbc.gridx = 0; gbc.gridy = 6;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.HORIZONTAL;
-        panel.add(analyzeButton, gbc);
+        panel.add(buttonPanel, gbc);
         
         return panel;
     }
@@ -93,60 +172,252 @@ public class PerformanceAnalyzerEN extends JFrame {
     }
     
     private void runAnalysis() {
+        // Read every setting on the EDT and hand it to the worker; the background thread never touches Swing
+        AnalysisWorker worker;
+        try {
+            worker = new AnalysisWorker((String) testTypeBox.getSelectedItem(),
+                (Integer) iterationsSpinner.getValue(),
+                Integer.parseInt(((String) bucketsBox.getSelectedItem()).trim()),
+                Long.parseLong(((String) samplesBox.getSelectedItem()).trim()),
+                (Integer) threadsSpinner.getValue(),
+                ConcurrentMapAnalyzer.parseWriteRatios((String) mixBox.getSelectedItem()));
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid setting: " + ex.getMessage(), "Error",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
         analyzeButton.setEnabled(false);
+        cancelButton.setEnabled(true);
         progressBar.setValue(0);
         progressBar.setString("Analyzing...");
         resultArea.setText("");
         
-        SwingWorker<String, String> worker = new SwingWorker<String, String>() {
-            @Override
-            protected String doInBackground() throws Exception {
-                StringBuilder result = new StringBuilder();
-                String testType = (String) testTypeBox.getSelectedItem();
-                int iterations = (Integer) iterationsSpinner.getValue();
-                
-                switch (testType) {
-                    case "Hash Function Performance":
-                        result.append(analyzeHashFunctionPerformance(iterations));
-                        break;
-                    case "Hash Function Distribution":
-                        result.append(analyzeHashFunctionDistribution(iterations));
-                        break;
-                    case "Data Structure Performance":
-                        result.append(analyzeDataStructurePerformance(iterations));
-                        break;
-                    case "Complete Performance Report":
-                        result.append(generateCompleteReport(iterations));
-                        break;
-                }
-                
-                return result.toString();
+        // Each sub-benchmark publishes its lines as soon as it finishes
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName()) && !worker.isCancelled()) {
+                showProgress(worker);
             }
-            
-            @Override
-            protected void process(List<String> chunks) {
-                for (String chunk : chunks) {
-                    resultArea.append(chunk);
-                    resultArea.setCaretPosition(resultArea.getDocument().getLength());
-                }
+        });
+        currentWorker = worker;
+        worker.execute();
+    }
+    
+    private void cancelAnalysis() {
+        AnalysisWorker worker = currentWorker;
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        cancelButton.setEnabled(false);
+    }
+    
+    private void showProgress(AnalysisWorker worker) {
+        int progress = worker.getProgress();
+        progressBar.setValue(progress);
+        if (progress > 0 && progress < 100 && !worker.isDone()) {
+            long elapsed = System.nanoTime() - worker.startTime;
+            long remainingSec = Math.round(elapsed / 1_000_000_000.0 * (100 - progress) / progress);
+            progressBar.setString(String.format("Analyzing... %d%% (about %d s remaining)", progress, remainingSec));
+        }
+    }
+    
+    // Progress hooks called by the analysis methods on the worker thread;
+    // outside a worker they do nothing and the methods return their full text
+    private void beginSection(int steps) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.beginSection(steps);
+        }
+    }
+    
+    private void publishPartial(StringBuilder result) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.publishPartial(result);
+        }
+    }
+    
+    private void stepCompleted(StringBuilder result) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.stepCompleted(result);
+        }
+    }
+    
+    private void sectionCompleted(StringBuilder result) {
+        AnalysisWorker worker = activeWorker.get();
+        if (worker != null) {
+            worker.sectionCompleted(result);
+        }
+    }
+    
+    /**
+     * Runs the selected analysis, streaming each finished step to the result area
+     * and reporting progress by section and step
+     */
+    private class AnalysisWorker extends SwingWorker<Void, String> {
+        private final long startTime = System.nanoTime();
+        private int sectionCount = 1;
+        private int sectionsDone;
+        private int sectionSteps;
+        private int stepsDone;
+        private final String testType;
+        private final int iterations;
+        private final int buckets;
+        private final long samples;
+        private final int maxThreads;
+        private final double[] writeRatios;
+        // Set once doInBackground starts, or by done when cancelled before it ever started
+        private final AtomicBoolean started = new AtomicBoolean();
+        
+        AnalysisWorker(String testType, int iterations, int buckets, long samples, int maxThreads,
+                       double[] writeRatios) {
+            this.testType = testType;
+            this.iterations = iterations;
+            this.buckets = buckets;
+            this.samples = samples;
+            this.maxThreads = maxThreads;
+            this.writeRatios = writeRatios;
+        }
+        
+        @Override
+        protected Void doInBackground() throws Exception {
+            if (!started.compareAndSet(false, true)) {
+                return null;
             }
-            
-            @Override
-            protected void done() {
+            activeWorker.set(this);
+            try {
+                analyze();
+            } finally {
+                activeWorker.remove();
+                // On cancel done runs at once while the analysis thread may still be in a timed loop;
+                // only allow the next analysis after it has really exited
+                SwingUtilities.invokeLater(() -> analysisExited(this));
+            }
+            return null;
+        }
+        
+        private void analyze() throws Exception {
+            switch (testType) {
+                case "Hash Function Performance":
+                    sectionCompleted(new StringBuilder(analyzeHashFunctionPerformance(iterations)));
+                    break;
+                case "Hash Function Distribution":
+                    sectionCompleted(new StringBuilder(analyzeHashFunctionDistribution(samples, buckets)));
+                    break;
+                case "Data Structure Performance":
+                    sectionCompleted(new StringBuilder(analyzeDataStructurePerformance(iterations)));
+                    break;
+                case "Hash Table Load Factor Sweep":
+                    sectionCompleted(new StringBuilder(analyzeHashTableLoadFactors()));
+                    break;
+                case "Complexity Sweep":
+                    sectionCompleted(new StringBuilder(analyzeComplexitySweep()));
+                    break;
+                case "Concurrent Map Contention":
+                    sectionCompleted(new StringBuilder(analyzeConcurrentMaps(maxThreads, writeRatios)));
+                    break;
+                case "Throughput Scaling":
+                    sectionCompleted(new StringBuilder(analyzeThroughputScaling(maxThreads)));
+                    break;
+                case "SecureRandom Provider Comparison":
+                    sectionCompleted(new StringBuilder(analyzeSecureRandomProviders(maxThreads)));
+                    break;
+                case "Complete Performance Report":
+                    sectionCount = COMPLETE_REPORT_SECTIONS;
+                    publishPartial(new StringBuilder(generateCompleteReport(iterations, samples, buckets)));
+                    break;
+            }
+        }
+        
+        void beginSection(int steps) {
+            checkCancelled();
+            sectionSteps = steps;
+            stepsDone = 0;
+        }
+        
+        void publishPartial(StringBuilder result) {
+            if (result.length() > 0) {
+                publish(result.toString());
+                result.setLength(0);
+            }
+        }
+        
+        void stepCompleted(StringBuilder result) {
+            publishPartial(result);
+            stepsDone++;
+            updateProgress();
+            checkCancelled();
+        }
+        
+        void sectionCompleted(StringBuilder result) {
+            publishPartial(result);
+            sectionsDone++;
+            sectionSteps = 0;
+            stepsDone = 0;
+            updateProgress();
+            checkCancelled();
+        }
+        
+        private void updateProgress() {
+            double section = sectionSteps > 0 ? Math.min(1.0, (double) stepsDone / sectionSteps) : 0;
+            setProgress((int) Math.min(100, 100.0 * (sectionsDone + section) / sectionCount));
+        }
+        
+        private void checkCancelled() {
+            if (isCancelled() || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+        }
+        
+        @Override
+        protected void process(List<String> chunks) {
+            if (isCancelled()) {
+                return;
+            }
+            for (String chunk : chunks) {
+                resultArea.append(chunk);
+                resultArea.setCaretPosition(resultArea.getDocument().getLength());
+            }
+        }
+        
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                resultArea.append("\n*** Analysis cancelled, results above are partial ***\n");
+                progressBar.setString("Stopping the current step...");
+                if (started.compareAndSet(false, true)) {
+                    // Cancelled before it ever ran, so there is no background thread to wait for
+                    analysisExited(this);
+                }
+            } else {
                 try {
-                    String result = get();
-                    resultArea.setText(result);
+                    get();
                     progressBar.setValue(100);
                     progressBar.setString("Analysis Complete");
-                } catch (Exception ex) {
-                    resultArea.setText("Error during analysis: " + ex.getMessage());
+                } catch (ExecutionException ex) {
+                    resultArea.append("\nError during analysis: " + ex.getCause().getMessage());
                     progressBar.setString("Error Occurred");
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
                 }
-                analyzeButton.setEnabled(true);
             }
-        };
-        
-        worker.execute();
+        }
+    }
+    
+    /**
+     * The worker's background thread has exited (or never started); only now may the next analysis begin
+     */
+    private void analysisExited(AnalysisWorker worker) {
+        if (currentWorker != worker) {
+            return;
+        }
+        currentWorker = null;
+        if (worker.isCancelled()) {
+            progressBar.setString("Analysis Cancelled");
+        }
+        analyzeButton.setEnabled(true);
+        cancelButton.setEnabled(false);
     }
     
     private String analyzeHashFunctionPerformance(int iterations) {
@@ -155,96 +426,465 @@ public class PerformanceAnalyzerEN extends JFrame {
         result.append("Hash Function Performance Analysis\n");
         result.append("=".repeat(60)).append("\n\n");
         
-        HashFunction[] functions = {
-            new SimpleHashFunction(),
-            new MultiplicationHashFunction(),
-            new UniversalHashFunction()
-        };
+        HashFunction[] functions = HashFunction.allHashFunctions();
+        TabulationHashFunction tabulation = null;
+        ChaCha20HashFunction chacha20 = null;
+        for (HashFunction func : functions) {
+            if (func instanceof TabulationHashFunction) {
+                tabulation = (TabulationHashFunction) func;
+            } else if (func instanceof ChaCha20HashFunction) {
+                chacha20 = (ChaCha20HashFunction) func;
+            }
+        }
         
         int[] passwordLengths = {8, 16, 32};
+        beginSection(passwordLengths.length * functions.length);
         
         for (int length : passwordLengths) {
             result.append(String.format("Password Length: %d characters\n", length));
             result.append("-".repeat(40)).append("\n");
             
             for (HashFunction func : functions) {
+                // Warm up so the JIT has compiled the hot path
+                for (int i = 0; i < iterations / 10; i++) {
+                    blackhole += func.generatePassword(CHARSET, length).hashCode();
+                }
+                
+                int checksum = 0;
+                MemoryMeter meter = MemoryMeter.start();
                 long startTime = System.nanoTime();
                 
                 for (int i = 0; i < iterations; i++) {
-                    func.generatePassword(CHARSET, length);
+                    // Accumulate results so the JIT cannot drop the work
+                    checksum += func.generatePassword(CHARSET, length).hashCode();
                 }
                 
                 long endTime = System.nanoTime();
+                MemoryMeter.Sample memory = meter.stop(iterations);
+                blackhole = checksum;
                 double elapsedMs = (endTime - startTime) / 1_000_000.0;
                 double avgMs = elapsedMs / iterations;
                 
-                result.append(String.format("%-25s: Total %8.2f ms, Average %8.4f ms\n",
-                    func.getAlgorithmName(), elapsedMs, avgMs));
+                result.append(String.format("%-25s: Total %8.2f ms, Average %8.4f ms | %s\n",
+                    func.getAlgorithmName(), elapsedMs, avgMs, memoryColumns(memory, -1)));
+                stepCompleted(result);
             }
             result.append("\n");
         }
+        result.append(String.format("Tabulation Hash tables: built in %.3f ms, %d KiB (typical L1 data cache is 32-48 KiB)\n",
+            tabulation.getTableBuildNanos() / 1_000_000.0, tabulation.getTableFootprintBytes() / 1024));
+        result.append(String.format("ChaCha20: rekeyed from SecureRandom every %d KiB of keystream, %d times in this run\n",
+            chacha20.getReseedBytes() / 1024, chacha20.getReseedCount()));
         
         return result.toString();
     }
     
-    private String analyzeHashFunctionDistribution(int iterations) {
+    private String analyzeHashFunctionDistribution(long samples, int buckets) throws InterruptedException {
         StringBuilder result = new StringBuilder();
         result.append("=".repeat(60)).append("\n");
         result.append("Hash Function Distribution Analysis\n");
-        result.append("=".repeat(60)).append("\n\n");
+        result.append("=".repeat(60)).append("\n");
         
-        HashFunction[] functions = {
-            new SimpleHashFunction(),
-            new MultiplicationHashFunction(),
-            new UniversalHashFunction()
-        };
+        HashFunction[] functions = HashFunction.allHashFunctions();
         
-        int buckets = 100;
-        Random random = new Random();
+        HashDistributionAnalyzer analyzer = new HashDistributionAnalyzer();
+        beginSection(functions.length);
+        result.append(String.format("Samples: %,d, Buckets: %d, Threads: %d\n\n",
+            samples, buckets, Runtime.getRuntime().availableProcessors()));
         
         for (HashFunction func : functions) {
             result.append(func.getAlgorithmName()).append("\n");
             result.append("-".repeat(40)).append("\n");
             
-            int[] distribution = new int[buckets];
+            // GC count and time are process-wide; allocation is measured by each sampling thread and summed
+            MemoryMeter meter = MemoryMeter.start();
+            HashDistributionAnalyzer.Result stats = analyzer.analyze(func, buckets, samples);
+            MemoryMeter.Sample memory = meter.stop(samples);
             
-            for (int i = 0; i < iterations; i++) {
-                long input = Math.abs(random.nextLong());
-                int bucket = func.hash(input, buckets);
-                distribution[bucket]++;
+            result.append(String.format("Expected: %.2f\n", stats.expected));
+            result.append(String.format("Min: %d, Max: %d\n", stats.min, stats.max));
+            result.append(String.format("Standard Deviation: %.2f\n", stats.stdDev));
+            result.append(String.format("Uniformity: %.2f%%\n", stats.uniformity));
+            result.append(String.format("Chi-square: %.2f (df=%d), p-value: %.4f\n", stats.chiSquare, buckets - 1, stats.pValue));
+            result.append(String.format("Max Deviation: %.3f%%\n", stats.maxDeviation));
+            result.append(String.format("Time: %.2f ms (%.1f M samples/s)\n",
+                stats.elapsedNanos / 1_000_000.0, stats.getSamplesPerSecond() / 1_000_000.0));
+            result.append(String.format("Memory: %s allocated by sampling threads, GC %d (%d ms)\n",
+                MemoryMeter.formatBytes(stats.allocatedBytes), memory.gcCount, memory.gcMillis));
+            result.append("\n");
+            stepCompleted(result);
+        }
+        
+        return result.toString();
+    }
+    
+    private String analyzeHashTableLoadFactors() {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("Hash Table Load Factor Sweep\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        HashFunction[] functions = HashFunction.allHashFunctions();
+        double[] loadFactors = HashTableAnalyzer.DEFAULT_LOAD_FACTORS;
+        HashTableAnalyzer.TableType[] tableTypes = HashTableAnalyzer.TableType.values();
+        
+        HashTableAnalyzer analyzer = new HashTableAnalyzer(HASH_TABLE_ENTRIES);
+        beginSection(tableTypes.length * loadFactors.length);
+        result.append(String.format("%,d entries per table; times are ns per operation, probe lengths are mean/p50/p99/max\n\n", analyzer.getEntries()));
+        
+        StringBuilder summary = new StringBuilder();
+        for (HashTableAnalyzer.TableType type : tableTypes) {
+            HashTableAnalyzer.Result best = null;
+            for (double loadFactor : loadFactors) {
+                HashTableAnalyzer.Result first = null;
+                double bytesPerOperation = 0;
+                MemoryMeter meter = MemoryMeter.start();
+                for (HashFunction func : functions) {
+                    HashTableAnalyzer.Result stats = analyzer.analyze(func, type, loadFactor);
+                    bytesPerOperation = Math.max(bytesPerOperation, stats.bytesPerOperation);
+                    if (first == null) {
+                        first = stats;
+                        result.append("[").append(stats.tableName).append("] ");
+                        result.append(String.format("Load factor %.2f (capacity %,d)\n", loadFactor, stats.capacity));
+                    }
+                    result.append(String.format("%-36s insert %6.1f hit %6.1f miss %6.1f delete %6.1f | hit probes %s miss probes %s\n",
+                        stats.algorithmName, stats.insertNanos, stats.hitNanos, stats.missNanos, stats.deleteNanos,
+                        stats.hitProbes, stats.missProbes));
+                    // Hash strategy with the shortest mean hit probe at the highest load, per table
+                    if (loadFactor == loadFactors[loadFactors.length - 1]
+                            && (best == null || stats.hitProbes.mean < best.hitProbes.mean)) {
+                        best = stats;
+                    }
+                }
+                MemoryMeter.Sample memory = meter.stop(0);
+                // Retained heap does not depend on the hash function; measured once per load factor, after the GC window
+                long retained = analyzer.retainedBytes(functions[0], type, loadFactor);
+                result.append(String.format("Memory: retained %s (%.1f B/entry), operations alloc %s/op, GC %d (%d ms)\n",
+                    MemoryMeter.formatBytes(retained), (double) retained / analyzer.getEntries(),
+                    Double.isNaN(bytesPerOperation) ? "n/a" : MemoryMeter.formatBytes(bytesPerOperation),
+                    memory.gcCount, memory.gcMillis));
+                result.append("\n");
+                stepCompleted(result);
             }
-            
-            double expected = (double) iterations / buckets;
-            double variance = 0;
-            int min = Integer.MAX_VALUE;
-            int max = Integer.MIN_VALUE;
-            
-            for (int count : distribution) {
-                variance += Math.pow(count - expected, 2);
-                min = Math.min(min, count);
-                max = Math.max(max, count);
+            summary.append(String.format("[%s] Shortest hit probes at load factor %.2f: %s (%.2f)\n", best.tableName,
+                best.loadFactor, best.algorithmName, best.hitProbes.mean));
+        }
+        result.append(summary);
+        
+        return result.toString();
+    }
+    
+    private String analyzeComplexitySweep() {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("Complexity Sweep\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        ComplexitySweep.Structure[] structures = ComplexitySweep.Structure.values();
+        ComplexitySweep sweep = new ComplexitySweep();
+        int[] sizes = sweep.getSizes();
+        beginSection(structures.length);
+        result.append("Times are ns per operation; the exponent is the least-squares slope of t ∝ n^b on a log-log scale, ");
+        result.append(String.format("⚠ marks a gap above %.2f from theory\n", ComplexitySweep.TOLERANCE));
+        result.append(String.format("%-32s", "n"));
+        for (int size : sizes) {
+            result.append(String.format(" %11s", String.format("%,d", size)));
+        }
+        result.append("\n");
+        
+        List<ComplexitySweep.Result> linear = new ArrayList<>();
+        List<ComplexitySweep.Result> mismatched = new ArrayList<>();
+        for (ComplexitySweep.Structure structure : structures) {
+            for (ComplexitySweep.Result stats : sweep.sweep(structure)) {
+                result.append(String.format("%-32s", stats.structureName + " " + stats.operation));
+                for (double nanos : stats.nanosPerOperation) {
+                    result.append(String.format(" %11.1f", nanos));
+                }
+                result.append("\n");
+                result.append(String.format("    expected %-8s (exponent %.2f)  fitted %.2f  R² %.2f  closest %-8s %s\n",
+                    stats.expected.label, stats.expectedExponent, stats.exponent, stats.rSquared,
+                    stats.closest().label, stats.matchesExpected() ? "✓" : "⚠"));
+                if (stats.failedSize > 0) {
+                    result.append(String.format("    out of memory at n = %,d; fitted up to the previous size\n", stats.failedSize));
+                }
+                if (stats.closest() == ComplexitySweep.Complexity.LINEAR) {
+                    linear.add(stats);
+                }
+                if (!stats.matchesExpected()) {
+                    mismatched.add(stats);
+                }
             }
+            result.append("\n");
+            stepCompleted(result);
+        }
+        
+        result.append("Operations growing linearly (avoid on large data):\n");
+        if (linear.isEmpty()) {
+            result.append("  none\n");
+        }
+        for (ComplexitySweep.Result stats : linear) {
+            result.append(String.format("  %s %s: exponent %.2f, each 10x in n makes every operation ~%.0fx slower\n",
+                stats.structureName, stats.operation, stats.exponent, Math.pow(10, stats.exponent)));
+        }
+        result.append("Operations not matching theory:\n");
+        if (mismatched.isEmpty()) {
+            result.append("  none\n");
+        }
+        for (ComplexitySweep.Result stats : mismatched) {
+            result.append(String.format("  %s %s: expected %s exponent %.2f, measured %.2f\n", stats.structureName,
+                stats.operation, stats.expected.label, stats.expectedExponent, stats.exponent));
+        }
+        if (!mismatched.isEmpty()) {
+            result.append("  Note: once the data outgrows the CPU caches each access can cost a memory round trip; pointer-based\n");
+            result.append("        structures (HashMap and TreeMap nodes) suffer most, so O(1) / O(log n) operations often fit 0.1-0.4 at large n\n");
+        }
+        
+        return result.toString();
+    }
+    
+    private String analyzeConcurrentMaps(int maxThreads, double[] writeRatios) throws InterruptedException {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("Concurrent Map Contention\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        HashFunction[] functions = HashFunction.allHashFunctions();
+        ConcurrentMapAnalyzer.MapType[] mapTypes = ConcurrentMapAnalyzer.MapType.values();
+        int[] threadCounts = ConcurrentMapAnalyzer.threadCounts(maxThreads);
+        beginSection(writeRatios.length * mapTypes.length);
+        
+        // Keys are 16-character passwords from every hash function, generated outside the measurement
+        ConcurrentMapAnalyzer analyzer = new ConcurrentMapAnalyzer(
+            ConcurrentMapAnalyzer.generateKeys(functions, CHARSET, 16, CONCURRENT_MAP_KEYS));
+        int processors = Runtime.getRuntime().availableProcessors();
+        result.append(String.format("%,d password keys, maps stay about half full; writes are half put, half remove; %d processors\n",
+            analyzer.getKeyCount(), processors));
+        result.append("Values are millions of operations per second (total / per thread)\n\n");
+        
+        StringBuilder summary = new StringBuilder();
+        for (double writeRatio : writeRatios) {
+            result.append(String.format("[read/write %s]\n", ConcurrentMapAnalyzer.formatMix(writeRatio)));
+            result.append(String.format("%-26s", "Threads"));
+            for (int threads : threadCounts) {
+                result.append(String.format(" %15d", threads));
+            }
+            result.append("\n");
             
-            variance /= buckets;
-            double stdDev = Math.sqrt(variance);
-            double uniformity = 100.0 * (1.0 - stdDev / expected);
-            
-            result.append(String.format("Expected: %.2f\n", expected));
-            result.append(String.format("Min: %d, Max: %d\n", min, max));
-            result.append(String.format("Standard Deviation: %.2f\n", stdDev));
-            result.append(String.format("Uniformity: %.2f%%\n", uniformity));
+            ConcurrentMapAnalyzer.Result best = null;
+            for (ConcurrentMapAnalyzer.MapType type : mapTypes) {
+                StringBuilder total = new StringBuilder();
+                StringBuilder perThread = new StringBuilder();
+                ConcurrentMapAnalyzer.Result first = null;
+                ConcurrentMapAnalyzer.Result peak = null;
+                ConcurrentMapAnalyzer.Result last = null;
+                long allocated = 0;
+                long operations = 0;
+                MemoryMeter meter = MemoryMeter.start();
+                for (int threads : threadCounts) {
+                    ConcurrentMapAnalyzer.Result stats = analyzer.analyze(type, threads, writeRatio);
+                    total.append(String.format(" %15.2f", stats.getOperationsPerSecond() / 1_000_000));
+                    perThread.append(String.format(" %15.2f", stats.getOperationsPerSecondPerThread() / 1_000_000));
+                    allocated = stats.allocatedBytes < 0 || allocated < 0 ? -1 : allocated + stats.allocatedBytes;
+                    operations += stats.operations;
+                    if (first == null) {
+                        first = stats;
+                    }
+                    if (peak == null || stats.getOperationsPerSecond() > peak.getOperationsPerSecond()) {
+                        peak = stats;
+                    }
+                    last = stats;
+                }
+                MemoryMeter.Sample gc = meter.stop(0);
+                result.append(String.format("%-26s", type.displayName)).append(total).append("\n");
+                result.append(String.format("%-26s", "  per thread")).append(perThread).append("\n");
+                result.append("  ").append(memoryColumns(
+                    new MemoryMeter.Sample(allocated, operations, gc.gcCount, gc.gcMillis), -1)).append("\n");
+                summary.append(String.format("[read/write %s] %-26s peak %.2f M ops/s at %d threads; %d threads reach %.2fx of %d thread\n",
+                    ConcurrentMapAnalyzer.formatMix(writeRatio), type.displayName,
+                    peak.getOperationsPerSecond() / 1_000_000, peak.threads, last.threads,
+                    last.getOperationsPerSecond() / first.getOperationsPerSecond(), first.threads));
+                if (best == null || last.getOperationsPerSecond() > best.getOperationsPerSecond()) {
+                    best = last;
+                }
+                stepCompleted(result);
+            }
+            result.append(String.format("Fastest at %d threads: %s (%.2f M ops/s)\n\n", best.threads, best.mapName,
+                best.getOperationsPerSecond() / 1_000_000));
+        }
+        result.append(summary);
+        if (maxThreads > processors) {
+            result.append(String.format("Note: beyond the processor count (%d) there is no parallel speedup, only lock contention and scheduling cost\n", processors));
+        }
+        
+        return result.toString();
+    }
+    
+    private String analyzeThroughputScaling(int maxThreads) throws InterruptedException {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("Throughput Scaling\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        List<Supplier<HashFunction>> factories = HashFunction.allHashFunctionFactories();
+        ThroughputScalingAnalyzer.Mode[] modes = ThroughputScalingAnalyzer.Mode.values();
+        int[] threadCounts = ConcurrentMapAnalyzer.threadCounts(maxThreads);
+        int processors = Runtime.getRuntime().availableProcessors();
+        beginSection(factories.size() * modes.length);
+        
+        ThroughputScalingAnalyzer analyzer = new ThroughputScalingAnalyzer(CHARSET, 16);
+        result.append(String.format("16-character passwords; values are passwords/sec and efficiency against linear scaling (N threads / (N x 1 thread)); %d processors\n\n",
+            processors));
+        
+        StringBuilder summary = new StringBuilder();
+        for (Supplier<HashFunction> factory : factories) {
+            ThroughputScalingAnalyzer.Result best = null;
+            ThroughputScalingAnalyzer.Result bestBaseline = null;
+            for (ThroughputScalingAnalyzer.Mode mode : modes) {
+                StringBuilder throughput = new StringBuilder();
+                StringBuilder efficiency = new StringBuilder();
+                ThroughputScalingAnalyzer.Result first = null;
+                ThroughputScalingAnalyzer.Result last = null;
+                long allocated = 0;
+                long passwords = 0;
+                MemoryMeter meter = MemoryMeter.start();
+                for (int threads : threadCounts) {
+                    ThroughputScalingAnalyzer.Result stats = analyzer.analyze(factory, mode, threads);
+                    if (first == null) {
+                        first = stats;
+                        if (mode == modes[0]) {
+                            result.append("[").append(stats.algorithmName).append("]\n");
+                            result.append(String.format("%-30s", "Threads"));
+                            for (int count : threadCounts) {
+                                result.append(String.format(" %11d", count));
+                            }
+                            result.append("\n");
+                        }
+                    }
+                    throughput.append(String.format(" %,11.0f", stats.getPasswordsPerSecond()));
+                    efficiency.append(String.format(" %10.0f%%", 100 * stats.efficiency(first)));
+                    allocated = stats.allocatedBytes < 0 || allocated < 0 ? -1 : allocated + stats.allocatedBytes;
+                    passwords += stats.passwords;
+                    last = stats;
+                }
+                MemoryMeter.Sample gc = meter.stop(0);
+                result.append(String.format("%-30s", modeLabel(mode))).append(throughput).append("\n");
+                result.append(String.format("%-30s", "  efficiency")).append(efficiency).append("\n");
+                result.append("  ").append(memoryColumns(
+                    new MemoryMeter.Sample(allocated, passwords, gc.gcCount, gc.gcMillis), -1)).append("\n");
+                if (best == null || last.getPasswordsPerSecond() > best.getPasswordsPerSecond()) {
+                    best = last;
+                    bestBaseline = first;
+                }
+                stepCompleted(result);
+            }
+            result.append("\n");
+            summary.append(String.format("%-36s fastest at %d threads: %s, %,.0f passwords/sec (efficiency %.0f%%)\n",
+                best.algorithmName, best.threads, modeLabel(best.mode), best.getPasswordsPerSecond(),
+                100 * best.efficiency(bestBaseline)));
+        }
+        result.append(summary);
+        result.append("A shared instance means one SecureRandom for all threads; the default SecureRandom of per-thread instances\n");
+        result.append("still shares the NativePRNG global lock on Linux, while ConcurrentPasswordGenerator gives each thread its own DRBG\n");
+        result.append("ParallelPasswordGenerator generates N x 512 passwords per call on a ForkJoinPool, each worker with its own DRBG\n");
+        if (maxThreads > processors) {
+            result.append(String.format("Note: beyond the processor count (%d) efficiency is capped at processors / threads\n", processors));
+        }
+        
+        return result.toString();
+    }
+    
+    private static String modeLabel(ThroughputScalingAnalyzer.Mode mode) {
+        switch (mode) {
+            case SHARED_INSTANCE:
+                return "Shared instance";
+            case PER_THREAD_INSTANCE:
+                return "Instance per thread";
+            case CONCURRENT_GENERATOR:
+                return "ConcurrentPasswordGenerator";
+            default:
+                return "ParallelPasswordGenerator (Fork/Join)";
+        }
+    }
+    
+    private String analyzeSecureRandomProviders(int threads) throws InterruptedException {
+        StringBuilder result = new StringBuilder();
+        result.append("=".repeat(60)).append("\n");
+        result.append("SecureRandom Provider Comparison\n");
+        result.append("=".repeat(60)).append("\n");
+        
+        SecureRandomProvider[] providers = SecureRandomProvider.values();
+        SecureRandomAnalyzer analyzer = new SecureRandomAnalyzer(threads);
+        beginSection(providers.length);
+        result.append(String.format("Platform default: %s; seeding is the time from a new instance to its first random value (first / median),\n",
+            new SecureRandom().getAlgorithm()));
+        result.append(String.format("nextLong and %d-thread values are millions of calls per second, nextBytes is MiB/s in 4 KiB blocks\n\n", threads));
+        result.append(String.format("%-30s %10s %10s %10s %10s %12s %12s  %s\n", "Provider", "first ms", "seed ms",
+            "nextLong", "MiB/s", "shared", "per thread", "alloc/op"));
+        
+        List<SecureRandomAnalyzer.Result> available = new ArrayList<>();
+        for (SecureRandomProvider provider : providers) {
+            SecureRandomAnalyzer.Result stats = analyzer.analyze(provider);
+            if (stats.isAvailable()) {
+                available.add(stats);
+                result.append(String.format("%-30s %10.2f %10.2f %10.2f %10.1f %12.2f %12.2f  %s\n",
+                    provider.displayName, stats.firstSeedNanos / 1_000_000.0, stats.medianSeedNanos / 1_000_000.0,
+                    stats.longsPerSecond / 1_000_000, stats.bytesPerSecond / (1024 * 1024),
+                    stats.sharedLongsPerSecond / 1_000_000, stats.perThreadLongsPerSecond / 1_000_000,
+                    Double.isNaN(stats.bytesAllocatedPerLong) ? "n/a" : MemoryMeter.formatBytes(stats.bytesAllocatedPerLong)));
+            } else {
+                result.append(String.format("%-30s unavailable: %s\n", provider.displayName, stats.error));
+            }
+            stepCompleted(result);
+        }
+        
+        if (!available.isEmpty()) {
+            SecureRandomAnalyzer.Result fastestLong = available.get(0);
+            SecureRandomAnalyzer.Result fastestBytes = available.get(0);
+            SecureRandomAnalyzer.Result fastestContended = available.get(0);
+            SecureRandomAnalyzer.Result fastestSeed = available.get(0);
+            for (SecureRandomAnalyzer.Result stats : available) {
+                if (stats.longsPerSecond > fastestLong.longsPerSecond) fastestLong = stats;
+                if (stats.bytesPerSecond > fastestBytes.bytesPerSecond) fastestBytes = stats;
+                if (Math.max(stats.sharedLongsPerSecond, stats.perThreadLongsPerSecond)
+                        > Math.max(fastestContended.sharedLongsPerSecond, fastestContended.perThreadLongsPerSecond)) {
+                    fastestContended = stats;
+                }
+                if (stats.medianSeedNanos < fastestSeed.medianSeedNanos) fastestSeed = stats;
+            }
             result.append("\n");
+            result.append(String.format("Fastest per-character generation (nextLong): %s\n", fastestLong.provider.displayName));
+            result.append(String.format("Fastest batch generation (nextBytes): %s\n", fastestBytes.provider.displayName));
+            result.append(String.format("Fastest with %d threads: %s (%s)\n", threads, fastestContended.provider.displayName,
+                fastestContended.perThreadLongsPerSecond >= fastestContended.sharedLongsPerSecond ? "instance per thread" : "shared instance"));
+            result.append(String.format("Fastest seeding: %s\n", fastestSeed.provider.displayName));
         }
+        result.append("All NativePRNG instances share one lock around /dev/urandom, so per-thread instances do not run in parallel;\n");
+        result.append("DRBG runs a full generate on every call, so fetching 8 bytes at a time costs far more than whole blocks\n");
         
         return result.toString();
     }
     
     private String analyzeDataStructurePerformance(int iterations) {
         StringBuilder result = new StringBuilder();
+        beginSection(5);
         result.append("=".repeat(60)).append("\n");
         result.append("Data Structure Performance Analysis\n");
         result.append("=".repeat(60)).append("\n\n");
         
+        // Strings and random indexes are generated up front so only collection operations are timed
+        String[] passwords = new String[iterations];
+        String[] keys = new String[iterations];
+        for (int i = 0; i < iterations; i++) {
+            passwords[i] = "password" + i;
+            keys[i] = "key" + i;
+        }
+        Random random = new Random();
+        int searchIterations = Math.min(iterations, 1000);
+        int[] searchIndexes = new int[searchIterations];
+        for (int i = 0; i < searchIterations; i++) {
+            searchIndexes[i] = random.nextInt(iterations);
+        }
+        
         result.append("1. ArrayList vs LinkedList Performance\n");
         result.append("-".repeat(40)).append("\n");
         
@@ -252,50 +892,107 @@ public class PerformanceAnalyzerEN extends JFrame {
         List<String> linkedList = new LinkedList<>();
         
         // Test insertion performance
+        // GC before and after each fill; the difference is the structure's retained heap (strings are pre-generated)
+        long heapBeforeArrayList = MemoryMeter.usedHeapAfterGc();
+        MemoryMeter meter = MemoryMeter.start();
         long startTime = System.nanoTime();
         for (int i = 0; i < iterations; i++) {
-            arrayList.add("password" + i);
+            arrayList.add(passwords[i]);
         }
         long arrayListInsertTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample arrayListInsertMemory = meter.stop(iterations);
+        long heapAfterArrayList = MemoryMeter.usedHeapAfterGc();
+        long arrayListRetained = heapAfterArrayList - heapBeforeArrayList;
         
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < iterations; i++) {
-            linkedList.add("password" + i);
+            linkedList.add(passwords[i]);
         }
         long linkedListInsertTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample linkedListInsertMemory = meter.stop(iterations);
+        long linkedListRetained = MemoryMeter.usedHeapAfterGc() - heapAfterArrayList;
         
         result.append(String.format("Insert %d elements:\n", iterations));
-        result.append(String.format("ArrayList: %.2f ms\n", arrayListInsertTime / 1_000_000.0));
-        result.append(String.format("LinkedList: %.2f ms\n", linkedListInsertTime / 1_000_000.0));
+        result.append(String.format("ArrayList: %.2f ms | %s\n", arrayListInsertTime / 1_000_000.0,
+            memoryColumns(arrayListInsertMemory, arrayListRetained)));
+        result.append(String.format("LinkedList: %.2f ms | %s\n", linkedListInsertTime / 1_000_000.0,
+            memoryColumns(linkedListInsertMemory, linkedListRetained)));
         result.append("\n");
+        stepCompleted(result);
         
         // Test random access performance
-        Random random = new Random();
-        int searchIterations = Math.min(iterations, 1000);
-        
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < searchIterations; i++) {
-            int index = random.nextInt(arrayList.size());
-            arrayList.get(index);
+            arrayList.get(searchIndexes[i]);
         }
         long arrayListAccessTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample arrayListAccessMemory = meter.stop(searchIterations);
         
+        meter = MemoryMeter.start();
         startTime = System.nanoTime();
         for (int i = 0; i < searchIterations; i++) {
-            int index = random.nextInt(linkedList.size());
-            ((LinkedList<String>) linkedList).get(index);
+            linkedList.get(searchIndexes[i]);
         }
         long linkedListAccessTime = System.nanoTime() - startTime;
+        MemoryMeter.Sample linkedListAccessMemory = meter.stop(searchIterations);
         
         result.append(String.format("Random access %d times:\n", searchIterations));
-        result.append(String.format("ArrayList: %.2f ms\n", arrayListAccessTime / 1_000_000.0));
-        result.append(String.format("LinkedList: %.2f ms\n", linkedListAccessTime / 1_000_000.0));
+        result.append(String.format("ArrayList: %.2f ms | %s\n", arrayListAccessTime / 1_000_000.0,
+            memoryColumns(arrayListAccessMemory, -1)));
+        result.append(String.format("LinkedList: %.2f ms | %s\n", linkedListAccessTime / 1_000_000.0,
+            memoryColumns(linkedListAccessMemory, -1)));
         result.append("\n");
+        stepCompleted(result);
+        
+        result.append("2. Primitive vs Boxed Collections\n");
+        result.append("-".repeat(40)).append("\n");
+        CollectionBoxingAnalyzer boxing = new CollectionBoxingAnalyzer(iterations);
+        result.append(String.format("%,d int values / long keys (pre-generated), ns per operation, window size %d\n",
+            boxing.getElements(), CollectionBoxingAnalyzer.DEQUE_WINDOW));
+        appendBoxingResults(result, boxing.analyzeLists());
+        stepCompleted(result);
+        appendBoxingResults(result, boxing.analyzeDeques());
+        stepCompleted(result);
+        appendBoxingResults(result, boxing.analyzeMaps());
+        stepCompleted(result);
         
         return result.toString();
     }
     
-    private String generateCompleteReport(int iterations) {
+    // One block per operation; the last line is the fastest boxed collection relative to the primitive one
+    private void appendBoxingResults(StringBuilder result, List<CollectionBoxingAnalyzer.Result> results) {
+        Map<String, List<CollectionBoxingAnalyzer.Result>> byOperation = new LinkedHashMap<>();
+        for (CollectionBoxingAnalyzer.Result r : results) {
+            byOperation.computeIfAbsent(r.operation, k -> new ArrayList<>()).add(r);
+        }
+        for (Map.Entry<String, List<CollectionBoxingAnalyzer.Result>> entry : byOperation.entrySet()) {
+            double boxed = Double.MAX_VALUE;
+            double primitive = Double.NaN;
+            result.append(entry.getKey()).append(":\n");
+            for (CollectionBoxingAnalyzer.Result r : entry.getValue()) {
+                result.append(String.format("  %-24s %8.2f ns | alloc %s/op%s\n", r.collectionName, r.nanosPerOperation,
+                    Double.isNaN(r.bytesPerOperation) ? "n/a" : MemoryMeter.formatBytes(r.bytesPerOperation),
+                    r.retainedBytes < 0 ? "" : ", retained " + MemoryMeter.formatBytes(r.retainedBytes)));
+                if (r.primitive) {
+                    primitive = r.nanosPerOperation;
+                } else {
+                    boxed = Math.min(boxed, r.nanosPerOperation);
+                }
+            }
+            result.append(String.format("  Boxing cost: %.1fx\n", boxed / primitive));
+        }
+    }
+    
+    // Memory columns shown after a timing: bytes allocated per operation, GC count and time, and retained heap if known
+    private static String memoryColumns(MemoryMeter.Sample sample, long retainedBytes) {
+        String columns = String.format("alloc %s/op, GC %d (%d ms)",
+            sample.formatBytesPerOperation(), sample.gcCount, sample.gcMillis);
+        return retainedBytes < 0 ? columns : columns + ", retained " + MemoryMeter.formatBytes(retainedBytes);
+    }
+    
+    private String generateCompleteReport(int iterations, long samples, int buckets) throws InterruptedException {
         StringBuilder report = new StringBuilder();
         
         report.append("=".repeat(80)).append("\n");
@@ -305,13 +1002,23 @@ public class PerformanceAnalyzerEN extends JFrame {
         report.append("Test Configuration:\n");
         report.append(String.format("- Test Iterations: %d\n", iterations));
         report.append(String.format("- Character Set Size: %d\n", CHARSET.length()));
+        report.append(String.format("- Distribution Samples: %,d (Buckets: %d)\n", samples, buckets));
+        report.append(String.format("- Max Heap: %s, Thread Allocation Accounting: %s\n", MemoryMeter.formatBytes(Runtime.getRuntime().maxMemory()),
+            MemoryMeter.isAllocationSupported() ? "supported" : "unsupported"));
         report.append(String.format("- Test Time: %s\n\n", new Date()));
         
+        publishPartial(report);
         report.append(analyzeHashFunctionPerformance(iterations));
+        sectionCompleted(report);
         report.append("\n");
-        report.append(analyzeHashFunctionDistribution(iterations));
+        report.append(analyzeHashFunctionDistribution(samples, buckets));
+        sectionCompleted(report);
         report.append("\n");
         report.append(analyzeDataStructurePerformance(iterations));
+        sectionCompleted(report);
+        report.append("\n");
+        report.append(analyzeHashTableLoadFactors());
+        sectionCompleted(report);
         
         return report.toString();
     }
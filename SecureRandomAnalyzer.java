@@ -0,0 +1,217 @@
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SecureRandom 實作比較
+ * 對每個 SecureRandomProvider 量測：建立新實例到取得第一個亂數的延遲 (含播種)、
+ * 單執行緒 nextLong 次數 (HashFunction 逐字符產生時的用法) 與 nextBytes 4 KiB 區塊的位元組速率
+ * (批次產生時的用法)，以及多個執行緒共用同一個實例、各自一個實例時的 nextLong 總次數
+ */
+final class SecureRandomAnalyzer {
+    // 每個實作建立幾個新實例量測播種延遲；第一個通常包含類別載入與熵來源初始化
+    private static final int SEED_SAMPLES = 5;
+    private static final long WARMUP_MILLIS = 500;
+    private static final long MEASURE_MILLIS = 300;
+    // 每呼叫這麼多次才檢查一次時間或停止旗標
+    private static final int CHECK_INTERVAL = 64;
+
+    /**
+     * 單一實作的結果，不支援時只有 error
+     */
+    static final class Result {
+        final SecureRandomProvider provider;
+        final String error;
+        final long firstSeedNanos;
+        final long medianSeedNanos;
+        final double longsPerSecond;
+        final double bytesPerSecond;
+        final int threads;
+        final double sharedLongsPerSecond;
+        final double perThreadLongsPerSecond;
+        // 單執行緒每次 nextLong 配置的位元組數，不支援量測時為 NaN
+        final double bytesAllocatedPerLong;
+
+        Result(SecureRandomProvider provider, String error, long firstSeedNanos, long medianSeedNanos,
+               double longsPerSecond, double bytesPerSecond, int threads, double sharedLongsPerSecond,
+               double perThreadLongsPerSecond, double bytesAllocatedPerLong) {
+            this.provider = provider;
+            this.error = error;
+            this.firstSeedNanos = firstSeedNanos;
+            this.medianSeedNanos = medianSeedNanos;
+            this.longsPerSecond = longsPerSecond;
+            this.bytesPerSecond = bytesPerSecond;
+            this.threads = threads;
+            this.sharedLongsPerSecond = sharedLongsPerSecond;
+            this.perThreadLongsPerSecond = perThreadLongsPerSecond;
+            this.bytesAllocatedPerLong = bytesAllocatedPerLong;
+        }
+
+        static Result unavailable(SecureRandomProvider provider, String error) {
+            return new Result(provider, error, -1, -1, Double.NaN, Double.NaN, 0, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        boolean isAvailable() {
+            return error == null;
+        }
+    }
+
+    private final int threads;
+    // 防止 JIT 消除亂數呼叫
+    private volatile long blackhole;
+
+    public SecureRandomAnalyzer(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    public Result analyze(SecureRandomProvider provider) throws InterruptedException {
+        long[] seedNanos = new long[SEED_SAMPLES];
+        SecureRandom random = null;
+        try {
+            for (int i = 0; i < SEED_SAMPLES; i++) {
+                long start = System.nanoTime();
+                random = provider.create();
+                blackhole = random.nextLong();
+                seedNanos[i] = System.nanoTime() - start;
+            }
+        } catch (IllegalStateException e) {
+            return Result.unavailable(provider, e.getMessage());
+        }
+        long firstSeedNanos = seedNanos[0];
+        Arrays.sort(seedNanos);
+
+        nextLongRate(random, WARMUP_MILLIS);
+        MemoryMeter meter = MemoryMeter.start();
+        long[] longs = nextLongRate(random, MEASURE_MILLIS);
+        MemoryMeter.Sample memory = meter.stop(longs[0]);
+        nextBytesRate(random, WARMUP_MILLIS);
+        long[] bytes = nextBytesRate(random, MEASURE_MILLIS);
+
+        SecureRandom shared = random;
+        SecureRandom[] sharedRandoms = new SecureRandom[threads];
+        Arrays.fill(sharedRandoms, shared);
+        SecureRandom[] ownRandoms = new SecureRandom[threads];
+        for (int t = 0; t < threads; t++) {
+            ownRandoms[t] = provider.create();
+        }
+        double sharedRate = contendedRate(sharedRandoms);
+        double perThreadRate = contendedRate(ownRandoms);
+
+        return new Result(provider, null, firstSeedNanos, seedNanos[SEED_SAMPLES / 2],
+            perSecond(longs[0], longs[1]), perSecond(bytes[0], bytes[1]), threads, sharedRate, perThreadRate,
+            memory.bytesPerOperation());
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return count / (nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * @return {nextLong 次數, 經過 ns}
+     */
+    private long[] nextLongRate(SecureRandom random, long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long count = 0;
+        long checksum = 0;
+        long now;
+        do {
+            for (int i = 0; i < CHECK_INTERVAL; i++) {
+                checksum += random.nextLong();
+            }
+            count += CHECK_INTERVAL;
+            now = System.nanoTime();
+        } while (now < deadline);
+        blackhole = checksum;
+        return new long[] {count, now - start};
+    }
+
+    /**
+     * @return {位元組數, 經過 ns}
+     */
+    private long[] nextBytesRate(SecureRandom random, long millis) {
+        byte[] block = new byte[HashFunction.ENTROPY_BLOCK_SIZE];
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long count = 0;
+        long now;
+        do {
+            random.nextBytes(block);
+            count += block.length;
+            now = System.nanoTime();
+        } while (now < deadline);
+        blackhole = block[0];
+        Arrays.fill(block, (byte) 0);
+        return new long[] {count, now - start};
+    }
+
+    /**
+     * 每個執行緒對 randoms[t] 呼叫 nextLong，所有執行緒在同一個屏障後開始
+     * @return 每秒 nextLong 總次數
+     */
+    private double contendedRate(SecureRandom[] randoms) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(randoms.length);
+        try {
+            run(executor, randoms, WARMUP_MILLIS);
+            long[] result = run(executor, randoms, MEASURE_MILLIS);
+            return perSecond(result[0], result[1]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return {nextLong 總次數, 經過 ns}
+     */
+    private long[] run(ExecutorService executor, SecureRandom[] randoms, long millis) throws InterruptedException {
+        CyclicBarrier start = new CyclicBarrier(randoms.length + 1);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Long>> workers = new ArrayList<>();
+        for (SecureRandom random : randoms) {
+            workers.add(executor.submit(() -> work(random, start, stop)));
+        }
+        try {
+            start.await();
+            long startTime = System.nanoTime();
+            Thread.sleep(millis);
+            stop.set(true);
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return new long[] {total, System.nanoTime() - startTime};
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("worker failed to start", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("random generation failed", e.getCause());
+        } finally {
+            stop.set(true);
+        }
+    }
+
+    private long work(SecureRandom random, CyclicBarrier start, AtomicBoolean stop)
+            throws InterruptedException, BrokenBarrierException {
+        start.await();
+        long count = 0;
+        long checksum = 0;
+        while (!stop.get()) {
+            for (int i = 0; i < CHECK_INTERVAL; i++) {
+                checksum += random.nextLong();
+            }
+            count += CHECK_INTERVAL;
+        }
+        blackhole = checksum;
+        return count;
+    }
+}
@@ -0,0 +1,89 @@
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.Locale;
+
+/**
+ * 可選擇的 SecureRandom 實作
+ * 預設的 new SecureRandom() 由平台決定 (Linux 上為 NativePRNG)，這裡讓 HashFunction 與分析工具可以明確指定
+ *
+ * DRBG 的機制 (Hash / HMAC / CTR) 無法以 DrbgParameters 指定，只能由安全性屬性 securerandom.drbg.config
+ * 在建立實例時讀取；因此建立時在鎖內暫時改寫該屬性，建立後立即還原。
+ * 其他程式碼若在同一時間自行建立 DRBG，可能讀到暫時的設定
+ */
+enum SecureRandomProvider {
+    DEFAULT("default", "Default (new SecureRandom())", null, null),
+    NATIVE_PRNG("native", "NativePRNG", "NativePRNG", null),
+    NATIVE_PRNG_NON_BLOCKING("native-nonblocking", "NativePRNGNonBlocking", "NativePRNGNonBlocking", null),
+    DRBG_HASH("drbg-hash", "DRBG (Hash_DRBG, SHA-256)", "DRBG", "Hash_DRBG,SHA-256"),
+    DRBG_HMAC("drbg-hmac", "DRBG (HMAC_DRBG, SHA-256)", "DRBG", "HMAC_DRBG,SHA-256"),
+    DRBG_CTR("drbg-ctr", "DRBG (CTR_DRBG, AES-256)", "DRBG", "CTR_DRBG,AES-256"),
+    SHA1PRNG("sha1prng", "SHA1PRNG", "SHA1PRNG", null);
+
+    private static final String DRBG_CONFIG_PROPERTY = "securerandom.drbg.config";
+    private static final Object DRBG_CONFIG_LOCK = new Object();
+
+    final String optionName;
+    final String displayName;
+    private final String algorithm;
+    private final String drbgConfig;
+
+    SecureRandomProvider(String optionName, String displayName, String algorithm, String drbgConfig) {
+        this.optionName = optionName;
+        this.displayName = displayName;
+        this.algorithm = algorithm;
+        this.drbgConfig = drbgConfig;
+    }
+
+    /**
+     * 建立新的實例，此平台不支援時丟出 IllegalStateException
+     */
+    SecureRandom create() {
+        if (algorithm == null) {
+            return new SecureRandom();
+        }
+        try {
+            if (drbgConfig == null) {
+                return SecureRandom.getInstance(algorithm);
+            }
+            synchronized (DRBG_CONFIG_LOCK) {
+                String previous = Security.getProperty(DRBG_CONFIG_PROPERTY);
+                Security.setProperty(DRBG_CONFIG_PROPERTY, drbgConfig);
+                try {
+                    return SecureRandom.getInstance(algorithm);
+                } finally {
+                    Security.setProperty(DRBG_CONFIG_PROPERTY, previous == null ? "" : previous);
+                }
+            }
+        } catch (NoSuchAlgorithmException | IllegalArgumentException e) {
+            // 不支援的 DRBG 設定在建立時以 IllegalArgumentException 回報
+            throw new IllegalStateException(displayName + " is not available on this platform", e);
+        }
+    }
+
+    boolean isAvailable() {
+        try {
+            create();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 依命令列名稱取得，例如 drbg-hmac
+     */
+    static SecureRandomProvider fromOptionName(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (SecureRandomProvider provider : values()) {
+            if (provider.optionName.equals(normalized)) {
+                return provider;
+            }
+        }
+        StringBuilder names = new StringBuilder();
+        for (SecureRandomProvider provider : values()) {
+            names.append(names.length() == 0 ? "" : ", ").append(provider.optionName);
+        }
+        throw new IllegalArgumentException("Unknown random provider '" + name + "', use " + names);
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 分段鎖 (lock striping) 的執行緒安全 Map
+ * 依 key 的 hashCode 把項目分到 2 的次方個 HashMap，每一段以自己為 monitor 上鎖，
+ * 不同段的操作互不阻擋；與 Collections.synchronizedMap 相同的語意，但鎖的競爭降為約 1/段數
+ *
+ * get / put / remove / containsKey 只鎖一段；size 與 clear 依序鎖每一段，結果不是整體的瞬間值；
+ * entrySet 回傳逐段複製的快照，修改快照不影響 map
+ */
+class StripedLockMap<K, V> extends AbstractMap<K, V> {
+    private final HashMap<K, V>[] stripes;
+    private final int shift;
+
+    public StripedLockMap() {
+        this(Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedLockMap(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be positive: " + stripeCount);
+        }
+        int count = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = (HashMap<K, V>[]) new HashMap<?, ?>[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new HashMap<>();
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    // HashMap 以 hash 的低位元選 bucket，分段改取乘上黃金比例後的高位元，兩者不相關
+    private HashMap<K, V> stripeFor(Object key) {
+        if (shift == 32) {
+            return stripes[0];
+        }
+        int h = key == null ? 0 : key.hashCode();
+        return stripes[(h * 0x9E3779B9) >>> shift];
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    @Override
+    public V get(Object key) {
+        HashMap<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        HashMap<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.containsKey(key);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        HashMap<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        HashMap<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (HashMap<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (HashMap<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> snapshot = new HashSet<>();
+        for (HashMap<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                for (Map.Entry<K, V> entry : stripe.entrySet()) {
+                    snapshot.add(new SimpleEntry<>(entry));
+                }
+            }
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,244 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 多執行緒產生密碼的吞吐量擴展分析
+ * 以 1..N 個執行緒同時呼叫 generatePassword，量測每秒總密碼數，並與線性擴展 (1 執行緒 × N) 比較
+ *
+ * 四種模式：所有執行緒共用同一個 HashFunction 實例 (共用同一個 SecureRandom)、
+ * 每個執行緒自己建立一個實例 (預設 SecureRandom，Linux 上的 NativePRNG 仍共用同一把全域鎖)、
+ * 正式環境使用的 ConcurrentPasswordGenerator (每執行緒一個實例配獨立 DRBG)，
+ * 以及批次產生用的 ParallelPasswordGenerator (平行度為 N 的 ForkJoinPool，每個工作執行緒獨立 DRBG)
+ */
+final class ThroughputScalingAnalyzer {
+    // 每個 (演算法, 模式, 執行緒數) 先暖機再量測固定時間；SecureRandom 的呼叫路徑較長，需要較久的暖機
+    private static final long WARMUP_MILLIS = 300;
+    // 每個 (演算法, 模式) 第一次量測前的暖機：1 執行緒是效率的基準，JIT 與 DRBG 建立都要在此之前完成
+    private static final long FIRST_WARMUP_MILLIS = 1_500;
+    private static final long MEASURE_MILLIS = 500;
+    // 每產生這麼多組密碼才檢查一次停止旗標
+    private static final int STOP_CHECK_INTERVAL = 16;
+    // ParallelPasswordGenerator 葉節點的密碼數；每次 generate 切出 平行度 × PARALLEL_LEAVES 個葉節點
+    private static final int PARALLEL_THRESHOLD = 128;
+    private static final int PARALLEL_LEAVES = 4;
+
+    enum Mode {
+        SHARED_INSTANCE, PER_THREAD_INSTANCE, CONCURRENT_GENERATOR, PARALLEL_GENERATOR
+    }
+
+    /**
+     * 單一 (演算法, 模式, 執行緒數) 組合的結果
+     */
+    static final class Result {
+        final String algorithmName;
+        final Mode mode;
+        final int threads;
+        final long passwords;
+        final long elapsedNanos;
+        // 所有工作執行緒在量測期間合計配置的位元組數，不支援量測時為 -1
+        final long allocatedBytes;
+
+        Result(String algorithmName, Mode mode, int threads, long passwords, long elapsedNanos, long allocatedBytes) {
+            this.algorithmName = algorithmName;
+            this.mode = mode;
+            this.threads = threads;
+            this.passwords = passwords;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        double getPasswordsPerSecond() {
+            return passwords / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * 相對於線性擴展的效率：吞吐量 / (threads × 單執行緒吞吐量)，1 為完全線性
+         */
+        double efficiency(Result singleThread) {
+            return getPasswordsPerSecond() / (threads * singleThread.getPasswordsPerSecond() / singleThread.threads);
+        }
+
+        double bytesPerPassword() {
+            return allocatedBytes < 0 || passwords == 0 ? Double.NaN : (double) allocatedBytes / passwords;
+        }
+    }
+
+    private final String charSet;
+    private final int length;
+    private final Set<String> warmedUp = new HashSet<>();
+    // 防止 JIT 消除產生的密碼
+    private volatile long blackhole;
+
+    public ThroughputScalingAnalyzer(String charSet, int length) {
+        if (charSet.isEmpty() || length < 1) {
+            throw new IllegalArgumentException("charSet must not be empty and length must be positive: " + length);
+        }
+        this.charSet = charSet;
+        this.length = length;
+    }
+
+    public Result analyze(Supplier<? extends HashFunction> factory, Mode mode, int threads)
+            throws InterruptedException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        if (mode == Mode.PARALLEL_GENERATOR) {
+            return analyzeParallel(factory, threads);
+        }
+        List<Supplier<String>> generators = new ArrayList<>();
+        Supplier<String> nameSource;
+        if (mode == Mode.CONCURRENT_GENERATOR) {
+            ConcurrentPasswordGenerator generator = new ConcurrentPasswordGenerator(factory);
+            nameSource = generator::getAlgorithmName;
+            for (int t = 0; t < threads; t++) {
+                generators.add(() -> generator.generatePassword(charSet, length));
+            }
+        } else {
+            HashFunction shared = factory.get();
+            nameSource = shared::getAlgorithmName;
+            for (int t = 0; t < threads; t++) {
+                // 實例在主執行緒建立，不計入量測
+                HashFunction function = mode == Mode.SHARED_INSTANCE || t == 0 ? shared : factory.get();
+                generators.add(() -> function.generatePassword(charSet, length));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            run(executor, generators, WARMUP_MILLIS, null);
+            // ConcurrentPasswordGenerator 的名稱取自工作執行緒已建立的實例，因此暖機後才讀取；第一次量測此組合時延長暖機
+            String algorithmName = nameSource.get();
+            if (warmedUp.add(algorithmName + "/" + mode)) {
+                run(executor, generators, FIRST_WARMUP_MILLIS - WARMUP_MILLIS, null);
+            }
+            LongAdder allocated = new LongAdder();
+            long[] result = run(executor, generators, MEASURE_MILLIS, allocated);
+            return new Result(algorithmName, mode, threads, result[0], result[1],
+                MemoryMeter.isAllocationSupported() ? allocated.sum() : -1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 主執行緒反覆呼叫 ParallelPasswordGenerator.generate，由平行度為 threads 的 ForkJoinPool 分工；
+     * 配置量為所有工作執行緒在量測期間的合計
+     */
+    private Result analyzeParallel(Supplier<? extends HashFunction> factory, int threads) {
+        List<Thread> workers = new CopyOnWriteArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            workers.add(worker);
+            return worker;
+        }, null, false);
+        try {
+            ParallelPasswordGenerator generator = new ParallelPasswordGenerator(factory, pool, PARALLEL_THRESHOLD);
+            int chunk = threads * PARALLEL_LEAVES * PARALLEL_THRESHOLD;
+            runParallel(generator, chunk, WARMUP_MILLIS);
+            // 名稱取自工作執行緒已建立的實例；第一次量測此組合時延長暖機
+            String algorithmName = generator.getAlgorithmName();
+            if (warmedUp.add(algorithmName + "/" + Mode.PARALLEL_GENERATOR)) {
+                runParallel(generator, chunk, FIRST_WARMUP_MILLIS - WARMUP_MILLIS);
+            }
+            Map<Thread, Long> allocatedBefore = new HashMap<>();
+            for (Thread worker : workers) {
+                allocatedBefore.put(worker, MemoryMeter.threadAllocatedBytes(worker));
+            }
+            long[] result = runParallel(generator, chunk, MEASURE_MILLIS);
+            long allocated = 0;
+            for (Thread worker : workers) {
+                long bytes = MemoryMeter.threadAllocatedBytes(worker);
+                // 量測期間才建立的工作執行緒從 0 起算
+                long before = allocatedBefore.getOrDefault(worker, 0L);
+                allocated = bytes < 0 || before < 0 || allocated < 0 ? -1 : allocated + bytes - before;
+            }
+            return new Result(algorithmName, Mode.PARALLEL_GENERATOR, threads, result[0], result[1], allocated);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @return {總密碼數, 經過 ns}
+     */
+    private long[] runParallel(ParallelPasswordGenerator generator, int chunk, long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long start = System.nanoTime();
+        long count = 0;
+        long checksum = 0;
+        long now;
+        do {
+            checksum += generator.generate(charSet, length, chunk)[0].charAt(0);
+            count += chunk;
+            now = System.nanoTime();
+        } while (now < deadline);
+        blackhole = checksum;
+        return new long[] {count, now - start};
+    }
+
+    /**
+     * 所有執行緒在同一個屏障後開始，主執行緒等待 millis 後設定停止旗標
+     * @return {總密碼數, 經過 ns}
+     */
+    private long[] run(ExecutorService executor, List<Supplier<String>> generators, long millis,
+                       LongAdder allocated) throws InterruptedException {
+        CyclicBarrier start = new CyclicBarrier(generators.size() + 1);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Long>> workers = new ArrayList<>();
+        for (Supplier<String> generator : generators) {
+            workers.add(executor.submit(() -> work(generator, start, stop, allocated)));
+        }
+        try {
+            start.await();
+            long startTime = System.nanoTime();
+            Thread.sleep(millis);
+            stop.set(true);
+            long total = 0;
+            for (Future<Long> worker : workers) {
+                total += worker.get();
+            }
+            return new long[] {total, System.nanoTime() - startTime};
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("worker failed to start", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("password generation failed", e.getCause());
+        } finally {
+            stop.set(true);
+        }
+    }
+
+    private long work(Supplier<String> generator, CyclicBarrier start, AtomicBoolean stop, LongAdder allocated)
+            throws InterruptedException, BrokenBarrierException {
+        start.await();
+        long allocatedBefore = MemoryMeter.currentThreadAllocatedBytes();
+        long count = 0;
+        long checksum = 0;
+        while (!stop.get()) {
+            for (int i = 0; i < STOP_CHECK_INTERVAL; i++) {
+                checksum += generator.get().charAt(0);
+            }
+            count += STOP_CHECK_INTERVAL;
+        }
+        if (allocated != null) {
+            allocated.add(MemoryMeter.currentThreadAllocatedBytes() - allocatedBefore);
+        }
+        blackhole = checksum;
+        return count;
+    }
+}
@@ -0,0 +1,287 @@
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * 大量產生時的不重複保證
+ * 每組密碼只保留 64 位元指紋，存放在 JVM heap 之外 (direct buffer)，
+ * 不會把上億個 String 裝進 HashSet，也不會造成 GC 壓力
+ *
+ * EXACT：開放定址的指紋集合，只有指紋碰撞 (約 n²/2^65) 才會誤判為重複
+ * BLOOM：只用 Bloom filter，記憶體約為 EXACT 的十分之一，但會以設定的誤判率拒絕部分未重複的密碼
+ * 兩種模式都不會讓重複的密碼通過
+ */
+final class UniquePasswordFilter {
+
+    enum Mode { EXACT, BLOOM }
+
+    private final Mode mode;
+    private final FingerprintSet fingerprints;
+    private final BloomFilter bloomFilter;
+    private long accepted;
+    private long rejected;
+
+    /**
+     * @param expectedEntries   預計加入的密碼數量，用來預先配置空間
+     * @param falsePositiveRate BLOOM 模式的目標誤判率
+     */
+    public UniquePasswordFilter(Mode mode, long expectedEntries, double falsePositiveRate) {
+        this.mode = mode;
+        if (mode == Mode.EXACT) {
+            this.fingerprints = new FingerprintSet(expectedEntries);
+            this.bloomFilter = null;
+        } else {
+            this.fingerprints = null;
+            this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        }
+    }
+
+    /**
+     * 嘗試加入一組密碼，之前未出現過時回傳 true
+     */
+    public boolean add(char[] password, int offset, int length) {
+        return addFingerprint(fingerprint(password, offset, length));
+    }
+
+    public boolean add(CharSequence password) {
+        return addFingerprint(fingerprint(password));
+    }
+
+    private boolean addFingerprint(long fingerprint) {
+        boolean added = mode == Mode.EXACT ? fingerprints.add(fingerprint) : bloomFilter.add(fingerprint);
+        if (added) {
+            accepted++;
+        } else {
+            rejected++;
+        }
+        return added;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /** 配置在 heap 之外的記憶體 (bytes) */
+    public long getMemoryBytes() {
+        return mode == Mode.EXACT ? fingerprints.getMemoryBytes() : bloomFilter.getMemoryBytes();
+    }
+
+    /** 每一百萬筆的記憶體用量 (bytes) */
+    public double getMemoryPerMillion() {
+        return accepted == 0 ? 0 : getMemoryBytes() * 1_000_000.0 / accepted;
+    }
+
+    /**
+     * 目前狀態下，一組從未出現過的密碼被誤判為重複的機率
+     */
+    public double getFalsePositiveRate() {
+        if (mode == Mode.EXACT) {
+            // 新指紋恰好等於已存在的 n 個指紋之一
+            return accepted / Math.pow(2, 64);
+        }
+        return bloomFilter.getFalsePositiveRate();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s uniqueness: accepted=%d, rejected=%d, memory=%.1f MB (%.2f MB per million), "
+                + "false-positive rate=%.3g",
+            mode, accepted, rejected, getMemoryBytes() / 1048576.0, getMemoryPerMillion() / 1048576.0,
+            getFalsePositiveRate());
+    }
+
+    /**
+     * 64 位元密碼指紋 (FNV-1a 再經 MurmurHash3 fmix64 打散)
+     */
+    static long fingerprint(char[] password, int offset, int length) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ password[i]) * 0x100000001B3L;
+        }
+        return mix(h ^ length);
+    }
+
+    static long fingerprint(CharSequence password) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < password.length(); i++) {
+            h = (h ^ password.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h ^ password.length());
+    }
+
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
+
+/**
+ * 以 direct buffer 分段存放的 long 陣列，單一 direct buffer 最多只能 2 GB
+ */
+final class OffHeapLongArray {
+    // 每段 2^26 個 long = 512 MB
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final LongBuffer[] segments;
+    private final long length;
+
+    OffHeapLongArray(long length) {
+        this.length = length;
+        int segmentCount = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new LongBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long segmentLength = Math.min(1L << SEGMENT_SHIFT, length - ((long) i << SEGMENT_SHIFT));
+            // direct buffer 配置時已歸零
+            segments[i] = ByteBuffer.allocateDirect((int) segmentLength * Long.BYTES).asLongBuffer();
+        }
+    }
+
+    long get(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+    }
+
+    void set(long index, long value) {
+        segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+    }
+
+    long length() {
+        return length;
+    }
+
+    long getMemoryBytes() {
+        return length * Long.BYTES;
+    }
+}
+
+/**
+ * 64 位元指紋的開放定址集合 (線性探測)，0 代表空格
+ */
+final class FingerprintSet {
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private OffHeapLongArray table;
+    private long mask;
+    private long size;
+
+    FingerprintSet(long expectedEntries) {
+        long capacity = 1024;
+        while (capacity * MAX_LOAD_FACTOR < expectedEntries) {
+            capacity <<= 1;
+        }
+        this.table = new OffHeapLongArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 加入指紋，已存在時回傳 false
+     */
+    boolean add(long fingerprint) {
+        // 0 保留給空格，與 1 合併 (多出的碰撞機率可忽略)
+        long key = fingerprint == 0 ? 1 : fingerprint;
+        if (size + 1 > table.length() * MAX_LOAD_FACTOR) {
+            grow();
+        }
+        long slot = key & mask;
+        while (true) {
+            long current = table.get(slot);
+            if (current == 0) {
+                table.set(slot, key);
+                size++;
+                return true;
+            }
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        OffHeapLongArray old = table;
+        table = new OffHeapLongArray(old.length() * 2);
+        mask = table.length() - 1;
+        for (long i = 0; i < old.length(); i++) {
+            long key = old.get(i);
+            if (key != 0) {
+                long slot = key & mask;
+                while (table.get(slot) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table.set(slot, key);
+            }
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long getMemoryBytes() {
+        return table.getMemoryBytes();
+    }
+}
+
+/**
+ * 以 direct buffer 存放位元陣列的 Bloom filter，k 個位置由指紋以 double hashing 推導
+ */
+final class BloomFilter {
+    private final OffHeapLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private long insertions;
+
+    BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedEntries);
+        // 最佳位元數 m = -n ln p / (ln 2)^2，最佳雜湊數 k = m/n ln 2
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, (m + 63) & ~63L);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new OffHeapLongArray(bitCount / 64);
+    }
+
+    /**
+     * 設定指紋對應的 k 個位元；全部原本就已設定 (可能重複) 時回傳 false
+     */
+    boolean add(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = UniquePasswordFilter.mix(fingerprint + 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            long word = bits.get(bit >>> 6);
+            long flag = 1L << (bit & 63);
+            if ((word & flag) == 0) {
+                bits.set(bit >>> 6, word | flag);
+                changed = true;
+            }
+        }
+        if (changed) {
+            insertions++;
+        }
+        return changed;
+    }
+
+    /** 依目前的插入數估計的誤判率 (1 - e^(-kn/m))^k */
+    double getFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions / bitCount), hashCount);
+    }
+
+    long getMemoryBytes() {
+        return bits.getMemoryBytes();
+    }
+}
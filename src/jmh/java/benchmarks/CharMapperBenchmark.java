@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CharMapper 純量版本與 Vector API 版本的比較 (每次對應 1024 個 32 位元亂數，最多 2048 個字符)
+ * 亂數事先產生，只測量縮減、拒絕與查表本身
+ *
+ * 需要 JDK 16 以上並以 vector profile 建置:
+ * mvn -Pjmh,vector package && java -jar target/benchmarks.jar CharMapperBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CharMapperBenchmark {
+
+    private static final int WORDS = 1024;
+
+    private static final MethodHandle MAP = DefaultPackage.virtual(
+        "CharMapper", "map", int.class, "CharacterSet", int[].class, int.class, int.class, char[].class, int.class);
+
+    @Param({"ScalarCharMapper", "VectorCharMapper"})
+    public String mapper;
+
+    // 字符集大小: NUMBERS=10, HEX=16 (2 的次方), ALPHANUMERIC=62, ALL=88
+    @Param({"NUMBERS", "HEX", "ALPHANUMERIC", "ALL"})
+    public String charSet;
+
+    private Object mapperInstance;
+    private Object compiledCharSet;
+    private final int[] random = new int[WORDS];
+    private final char[] dest = new char[WORDS * 2];
+
+    @Setup
+    public void setUp() {
+        mapperInstance = mapper.equals("ScalarCharMapper")
+            ? DefaultPackage.staticField("ScalarCharMapper", "INSTANCE")
+            : DefaultPackage.newInstance(mapper);
+        compiledCharSet = DefaultPackage.invokeStatic("CharacterSet", "compile",
+            new Class<?>[]{CharSequence.class}, charSetText(charSet));
+        SplittableRandom source = new SplittableRandom(42);
+        for (int i = 0; i < WORDS; i++) {
+            random[i] = source.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int map() throws Throwable {
+        return (int) MAP.invokeExact(mapperInstance, compiledCharSet, random, 0, WORDS, dest, 0);
+    }
+
+    private static String charSetText(String name) {
+        String upper = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        String lower = "abcdefghijklmnopqrstuvwxyz";
+        String digits = "0123456789";
+        switch (name) {
+            case "NUMBERS":      return digits;
+            case "HEX":          return digits + "abcdef";
+            case "ALPHANUMERIC": return upper + lower + digits;
+            case "ALL":          return upper + lower + digits + "!@#$%^&*()-_=+[]{}|;:,.<>?";
+            default: throw new IllegalArgumentException("Unknown character set: " + name);
+        }
+    }
+}
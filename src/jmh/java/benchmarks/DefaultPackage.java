@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 存取 default package 類別的輔助工具
+ * JMH 不允許基準測試類別放在 default package，而 default package 的類別無法被 import，
+ * 因此透過反射取得建構子與 MethodHandle (static final 的 MethodHandle 可被 JIT 內聯)
+ */
+final class DefaultPackage {
+
+    private DefaultPackage() {
+    }
+
+    static Object newInstance(String className) {
+        try {
+            Constructor<?> constructor = Class.forName(className).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + className, e);
+        }
+    }
+
+    static Object invokeStatic(String className, String methodName, Class<?>[] parameterTypes, Object... args) {
+        try {
+            Method method = Class.forName(className).getDeclaredMethod(methodName, parameterTypes);
+            method.setAccessible(true);
+            return method.invoke(null, args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot invoke " + className + "." + methodName, e);
+        }
+    }
+
+    static Object staticField(String className, String fieldName) {
+        try {
+            Field field = Class.forName(className).getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read " + className + "." + fieldName, e);
+        }
+    }
+
+    /**
+     * 取得實例方法的 MethodHandle
+     * 接收者與以類別名稱 (String) 指定的參數型別都改為 Object，呼叫端才能以 invokeExact 呼叫
+     */
+    static MethodHandle virtual(String className, String methodName, Class<?> returnType, Object... parameterTypes) {
+        try {
+            Class<?> owner = Class.forName(className);
+            Class<?>[] declared = new Class<?>[parameterTypes.length];
+            Class<?>[] erased = new Class<?>[parameterTypes.length + 1];
+            erased[0] = Object.class;
+            for (int i = 0; i < declared.length; i++) {
+                if (parameterTypes[i] instanceof String) {
+                    declared[i] = Class.forName((String) parameterTypes[i]);
+                    erased[i + 1] = Object.class;
+                } else {
+                    declared[i] = (Class<?>) parameterTypes[i];
+                    erased[i + 1] = declared[i];
+                }
+            }
+            Method method = owner.getDeclaredMethod(methodName, declared);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(returnType, erased));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot resolve " + className + "." + methodName, e);
+        }
+    }
+}
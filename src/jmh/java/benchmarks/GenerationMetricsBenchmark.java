@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GenerationMetrics 的記錄成本
+ * record 為未取樣延遲時只計數的成本；recordLatency 另記錄延遲直方圖；
+ * recordTimed 與 HashFunction 相同，平均每 16 次以 ThreadLocalRandom 隨機取樣一次延遲 (含兩次 System.nanoTime)，
+ * 即開啟統計時每次呼叫平均增加的時間；recordContended 以 4 個執行緒同時記錄
+ *
+ * 執行: mvn -Pjmh package && java -jar target/benchmarks.jar GenerationMetricsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GenerationMetricsBenchmark {
+
+    private static final MethodHandle RECORD = DefaultPackage.virtual(
+        "GenerationMetrics", "record", void.class, int.class, long.class, long.class, long.class);
+
+    // 與 GenerationMetrics.NOT_SAMPLED 相同
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+    private static final int SAMPLE_INTERVAL = 16;
+
+    private Object metrics;
+    private long elapsed = 850;
+
+    @Setup
+    public void setUp() {
+        metrics = DefaultPackage.invokeStatic("GenerationMetrics", "forAlgorithm",
+            new Class<?>[]{String.class}, "GenerationMetricsBenchmark");
+    }
+
+    @Benchmark
+    public void record() throws Throwable {
+        RECORD.invokeExact(metrics, 1, 16L, 128L, NOT_SAMPLED);
+    }
+
+    @Benchmark
+    public void recordLatency() throws Throwable {
+        RECORD.invokeExact(metrics, 1, 16L, 128L, elapsed);
+    }
+
+    @Benchmark
+    public void recordTimed() throws Throwable {
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) != 0) {
+            RECORD.invokeExact(metrics, 1, 16L, 128L, NOT_SAMPLED);
+            return;
+        }
+        long start = System.nanoTime();
+        RECORD.invokeExact(metrics, 1, 16L, 128L, System.nanoTime() - start);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() throws Throwable {
+        RECORD.invokeExact(metrics, 1, 16L, 128L, NOT_SAMPLED);
+    }
+}
@@ -0,0 +1,96 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * HashFunction 密碼產生效能基準測試
+ * 取代 PerformanceAnalyzer 中單次冷啟動的 System.nanoTime 計時：
+ * 有暖機、多個 fork，結果一律交給 Blackhole 避免被 JIT 消除
+ *
+ * 執行: mvn -Pjmh package && java -jar target/benchmarks.jar PasswordGenerationBenchmark
+ * 只跑部分參數: java -jar target/benchmarks.jar PasswordGenerationBenchmark -p length=16 -p charSet=ALPHANUMERIC
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PasswordGenerationBenchmark {
+
+    private static final MethodHandle GENERATE = DefaultPackage.virtual(
+        "HashFunction", "generatePassword", String.class, String.class, int.class);
+    private static final MethodHandle GENERATE_COMPILED = DefaultPackage.virtual(
+        "HashFunction", "generatePassword", String.class, "CharacterSet", int.class);
+    private static final MethodHandle GENERATE_INTO = DefaultPackage.virtual(
+        "HashFunction", "generatePassword", void.class, "CharacterSet", char[].class, int.class, int.class);
+
+    @Param({"SimpleHashFunction", "MultiplicationHashFunction", "UniversalHashFunction",
+            "MersennePrimeHashFunction", "MultiplyShiftHashFunction", "TabulationHashFunction",
+            "RejectionSamplingHashFunction", "ChaCha20HashFunction"})
+    public String algorithm;
+
+    @Param({"8", "16", "32", "64"})
+    public int length;
+
+    // 字符集大小: NUMBERS=10, LOWERCASE=26, ALPHANUMERIC=62, ALL=88
+    @Param({"NUMBERS", "LOWERCASE", "ALPHANUMERIC", "ALL"})
+    public String charSet;
+
+    private Object function;
+    private Object compiledCharSet;
+    private String charSetText;
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        function = DefaultPackage.newInstance(algorithm);
+        compiledCharSet = compiledCharSet(charSet);
+        charSetText = compiledCharSet.toString();
+        buffer = new char[length];
+    }
+
+    @Benchmark
+    public String generatePassword() throws Throwable {
+        return (String) GENERATE.invokeExact(function, charSetText, length);
+    }
+
+    @Benchmark
+    public String generatePasswordCompiled() throws Throwable {
+        return (String) GENERATE_COMPILED.invokeExact(function, compiledCharSet, length);
+    }
+
+    @Benchmark
+    public void generatePasswordInto(Blackhole blackhole) throws Throwable {
+        GENERATE_INTO.invokeExact(function, compiledCharSet, buffer, 0, length);
+        blackhole.consume(buffer);
+    }
+
+    private static Object compiledCharSet(String name) {
+        boolean[] flags;
+        switch (name) {
+            case "NUMBERS":      flags = new boolean[]{false, false, true, false}; break;
+            case "LOWERCASE":    flags = new boolean[]{false, true, false, false}; break;
+            case "ALPHANUMERIC": flags = new boolean[]{true, true, true, false}; break;
+            case "ALL":          flags = new boolean[]{true, true, true, true}; break;
+            default: throw new IllegalArgumentException("Unknown character set: " + name);
+        }
+        Class<?>[] types = {boolean.class, boolean.class, boolean.class, boolean.class};
+        return DefaultPackage.invokeStatic("CharacterSet", "of", types,
+            flags[0], flags[1], flags[2], flags[3]);
+    }
+}